@@ -0,0 +1,39 @@
+package com.ead.authuser.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class PasswordHashBenchmark {
+
+    // single threaded, so ops/s is hashes per second per core; size ead.password.pool-size from it
+    @Param({"10", "11", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        encoded = encoder.encode("secret123");
+    }
+
+    @Benchmark
+    public String hash() {
+        return encoder.encode("secret123");
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return encoder.matches("secret123", encoded);
+    }
+}
@@ -0,0 +1,108 @@
+package com.ead.authuser.benchmarks;
+
+import com.ead.authuser.configs.VirtualThreadConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(1)
+public class RequestThreadModelBenchmark {
+
+    // Tomcat's default max-threads, the bound the virtual-threads profile lifts
+    private static final int PLATFORM_THREADS = 200;
+
+    // hikari connection-timeout in application-virtual-threads.yaml
+    private static final long CONNECTION_TIMEOUT_MILLIS = 2000;
+
+    // "virtual" needs the benchmark JVM to be JDK 21 or newer, it uses the same factory as the profile
+    @Param({"platform", "virtual"})
+    private String threadModel;
+
+    // 10 is Hikari's default used by application.yaml, 40 is the virtual-threads profile
+    @Param({"10", "40"})
+    private int poolSize;
+
+    @Param({"100", "1000"})
+    private int concurrentRequests;
+
+    // time a request holds a connection, the transaction part of a handler
+    @Param({"5"})
+    private long queryMillis;
+
+    // time a request waits on the course service without a connection
+    @Param({"20"})
+    private long courseMillis;
+
+    private ExecutorService executor;
+    private Semaphore connectionPool;
+
+    @Setup
+    public void setUp() {
+        executor = "virtual".equals(threadModel)
+                ? new VirtualThreadConfig().virtualThreadExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+        connectionPool = new Semaphore(poolSize, true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+
+        public long served;
+        public long timedOut;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            served = 0;
+            timedOut = 0;
+        }
+    }
+
+    // one op is a burst of concurrent requests; served and timedOut are reported per second next to it
+    @Benchmark
+    public long burst(Outcomes outcomes) throws Exception {
+        List<Future<Boolean>> responses = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            responses.add(executor.submit(this::handleRequest));
+        }
+        for (Future<Boolean> response : responses) {
+            if (response.get()) {
+                outcomes.served++;
+            } else {
+                outcomes.timedOut++;
+            }
+        }
+        return outcomes.served;
+    }
+
+    // a handler that loads through Hikari and then calls CourseClient, like GET /users/{id}/courses
+    private boolean handleRequest() throws InterruptedException {
+        if (!connectionPool.tryAcquire(CONNECTION_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+            return false;
+        }
+        try {
+            Thread.sleep(queryMillis);
+        } finally {
+            connectionPool.release();
+        }
+        Thread.sleep(courseMillis);
+        return true;
+    }
+}
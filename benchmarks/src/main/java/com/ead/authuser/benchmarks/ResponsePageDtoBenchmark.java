@@ -0,0 +1,73 @@
+package com.ead.authuser.benchmarks;
+
+import com.ead.authuser.dtos.CourseDto;
+import com.ead.authuser.dtos.ResponsePageDto;
+import com.ead.authuser.enums.CourseLevel;
+import com.ead.authuser.enums.CourseStatus;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponsePageDtoBenchmark {
+
+    private static final TypeReference<ResponsePageDto<CourseDto>> COURSE_PAGE = new TypeReference<>() {};
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private String json;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<Map<String, Object>> content = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            Map<String, Object> course = new LinkedHashMap<>();
+            course.put("courseId", UUID.randomUUID());
+            course.put("name", "Course " + i);
+            course.put("description", "Description of course " + i);
+            course.put("imageUrl", "https://cdn.ead.com/courses/" + i + ".png");
+            course.put("courseStatus", CourseStatus.INPROGRESS);
+            course.put("userInstructor", UUID.randomUUID());
+            course.put("courseLevel", CourseLevel.BEGINNER);
+            content.add(course);
+        }
+
+        // same shape the course service renders for a Spring Data Page
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("content", content);
+        page.put("pageable", Map.of("sort", Map.of("sorted", true, "unsorted", false, "empty", false),
+                "offset", 0, "pageNumber", 0, "pageSize", pageSize, "paged", true, "unpaged", false));
+        page.put("last", false);
+        page.put("totalPages", 20);
+        page.put("totalElements", 20L * pageSize);
+        page.put("size", pageSize);
+        page.put("number", 0);
+        page.put("sort", Map.of("sorted", true, "unsorted", false, "empty", false));
+        page.put("first", true);
+        page.put("numberOfElements", pageSize);
+        page.put("empty", false);
+        json = objectMapper.writeValueAsString(page);
+    }
+
+    @Benchmark
+    public ResponsePageDto<CourseDto> deserializeCoursePage() throws Exception {
+        return objectMapper.readValue(json, COURSE_PAGE);
+    }
+}
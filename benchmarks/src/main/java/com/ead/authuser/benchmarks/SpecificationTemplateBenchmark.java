@@ -0,0 +1,56 @@
+package com.ead.authuser.benchmarks;
+
+import com.ead.authuser.enums.SearchMode;
+import com.ead.authuser.models.UserModel;
+import com.ead.authuser.specifications.SpecificationTemplate;
+import com.ead.authuser.specifications.UserKeyset;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpecificationTemplateBenchmark {
+
+    private final UUID courseId = UUID.randomUUID();
+    private final Specification<UserModel> userSpec = (root, query, cb) -> null;
+
+    private String cursor;
+
+    @Setup
+    public void setUp() {
+        var last = new UserModel();
+        last.setUserId(UUID.randomUUID());
+        last.setCreationDate(LocalDateTime.now(ZoneId.of("UTC")));
+        cursor = UserKeyset.of(Sort.by(Sort.Direction.DESC, "creationDate")).after(last).encode();
+    }
+
+    @Benchmark
+    public Specification<UserModel> courseFilter() {
+        return SpecificationTemplate.userCourseId(courseId).and(userSpec);
+    }
+
+    @Benchmark
+    public Specification<UserModel> searchFilter() {
+        return SpecificationTemplate.withSearch(userSpec, "John_Doe%", SearchMode.CONTAINS);
+    }
+
+    @Benchmark
+    public String searchPattern() {
+        return SpecificationTemplate.searchPattern("John_Doe%", SearchMode.PREFIX);
+    }
+
+    @Benchmark
+    public Specification<UserModel> keysetFromCursor() {
+        return SpecificationTemplate.keysetAfter(UserKeyset.decode(cursor)).and(userSpec);
+    }
+}
@@ -0,0 +1,80 @@
+package com.ead.authuser.benchmarks;
+
+import com.ead.authuser.dtos.UserDto;
+import com.ead.authuser.enums.UserStatus;
+import com.ead.authuser.enums.UserType;
+import com.ead.authuser.models.UserModel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.Link;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter registrationWriter;
+    private ObjectReader registrationReader;
+    private UserModel userModel;
+    private UserDto userDto;
+    private String registrationJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        // the MVC converters are built the same way, ResolverConfig replaces Boot's MVC auto-configuration
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        registrationWriter = objectMapper.writerWithView(UserDto.UserView.RegistrationPost.class);
+        registrationReader = objectMapper.readerWithView(UserDto.UserView.RegistrationPost.class).forType(UserDto.class);
+
+        userModel = new UserModel();
+        userModel.setUserId(UUID.randomUUID());
+        userModel.setUsername("john.doe");
+        userModel.setEmail("john.doe@ead.com");
+        userModel.setPassword("{bcrypt}$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3XcG7cQ1pEXAMPLEHASHvalue");
+        userModel.setFullname("John Doe");
+        userModel.setUserStatus(UserStatus.ACTIVE);
+        userModel.setUserType(UserType.STUDENT);
+        userModel.setPhoneNumber("+5511999999999");
+        userModel.setCpf("123.456.789-00");
+        userModel.setImageUrl("https://cdn.ead.com/users/john.doe.png");
+        userModel.setCreationDate(LocalDateTime.now(ZoneId.of("UTC")));
+        userModel.setLastUpdateDate(LocalDateTime.now(ZoneId.of("UTC")));
+        userModel.add(Link.of("http://localhost:8087/ead-authuser/api/v1/users/" + userModel.getUserId()));
+
+        userDto = new UserDto();
+        userDto.setUsername(userModel.getUsername());
+        userDto.setEmail(userModel.getEmail());
+        userDto.setPassword("secret123");
+        userDto.setFullname(userModel.getFullname());
+        userDto.setPhoneNumber(userModel.getPhoneNumber());
+        userDto.setCpf(userModel.getCpf());
+        registrationJson = registrationWriter.writeValueAsString(userDto);
+    }
+
+    @Benchmark
+    public byte[] serializeUserModelWithLinks() throws Exception {
+        return objectMapper.writeValueAsBytes(userModel);
+    }
+
+    @Benchmark
+    public byte[] serializeUserDtoWithView() throws Exception {
+        return registrationWriter.writeValueAsBytes(userDto);
+    }
+
+    @Benchmark
+    public UserDto deserializeUserDtoWithView() throws Exception {
+        return registrationReader.readValue(registrationJson);
+    }
+}
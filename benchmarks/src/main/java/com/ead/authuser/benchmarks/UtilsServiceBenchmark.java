@@ -0,0 +1,34 @@
+package com.ead.authuser.benchmarks;
+
+import com.ead.authuser.services.impl.UtilsServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilsServiceBenchmark {
+
+    private final UtilsServiceImpl utilsService = new UtilsServiceImpl();
+    private final UUID userId = UUID.randomUUID();
+    private final Pageable singleSort = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "courseId"));
+    private final Pageable multiSort = PageRequest.of(3, 50, Sort.by(Sort.Order.desc("name"), Sort.Order.asc("courseId")));
+
+    @Benchmark
+    public String createUrlSingleSort() {
+        return utilsService.createUrl(userId, singleSort);
+    }
+
+    @Benchmark
+    public String createUrlMultiSort() {
+        return utilsService.createUrl(userId, multiSort);
+    }
+}
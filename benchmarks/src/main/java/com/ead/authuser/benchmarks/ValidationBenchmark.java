@@ -0,0 +1,59 @@
+package com.ead.authuser.benchmarks;
+
+import com.ead.authuser.dtos.UserDto;
+import com.ead.authuser.validation.UsernameConstraintImpl;
+import org.openjdk.jmh.annotations.*;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private final UsernameConstraintImpl usernameConstraint = new UsernameConstraintImpl();
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private UserDto registration;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        registration = new UserDto();
+        registration.setUsername("john.doe");
+        registration.setEmail("john.doe@ead.com");
+        registration.setPassword("secret123");
+        registration.setFullname("John Doe");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public boolean usernameValid() {
+        return usernameConstraint.isValid("john.doe", null);
+    }
+
+    @Benchmark
+    public boolean usernameWithSpace() {
+        return usernameConstraint.isValid("  john doe  ", null);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserDto>> validateRegistration() {
+        return validator.validate(registration, UserDto.UserView.RegistrationPost.class);
+    }
+}
@@ -2,7 +2,9 @@ package com.ead.authuser.clients;
 
 import com.ead.authuser.dtos.CourseDto;
 import com.ead.authuser.dtos.ResponsePageDto;
+import com.ead.authuser.metrics.CourseClientMetrics;
 import com.ead.authuser.services.UtilsService;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
@@ -23,13 +25,15 @@ public class CourseClient {
 
     private final RestTemplate restTemplate;
     private final UtilsService utilsService;
+    private final CourseClientMetrics courseClientMetrics;
 
     @Value("${ead.api.url.course}")
     private String REQUEST_URL_COURSE;
 
-    public CourseClient(RestTemplate restTemplate, UtilsService utilsService) {
+    public CourseClient(RestTemplate restTemplate, UtilsService utilsService, CourseClientMetrics courseClientMetrics) {
         this.restTemplate = restTemplate;
         this.utilsService = utilsService;
+        this.courseClientMetrics = courseClientMetrics;
     }
 
     public Page<CourseDto> getAllCoursesByUser(UUID userId, Pageable pageable) {
@@ -38,14 +42,19 @@ public class CourseClient {
         String url = REQUEST_URL_COURSE + utilsService.createUrl(userId, pageable);
 
         log.debug("Request URL: {}", url);
-        log.info("Request URL: {}", url);
+        Timer.Sample sample = courseClientMetrics.start();
         try {
             ParameterizedTypeReference<ResponsePageDto<CourseDto>> responseType = new ParameterizedTypeReference<>(){};
             result = restTemplate.exchange(url, HttpMethod.GET, null, responseType);
+            courseClientMetrics.success(sample, "getAllCoursesByUser");
             fetchResult = result.getBody().getContent();
             log.debug("Response Number of elements: {}", fetchResult.size());
         } catch (HttpStatusCodeException e) {
+            courseClientMetrics.failure(sample, "getAllCoursesByUser", e);
             log.error("Error request /api/v1/courses {}", e);
+        } catch (RuntimeException e) {
+            courseClientMetrics.failure(sample, "getAllCoursesByUser", e);
+            throw e;
         }
         log.info("Ending request /api/v1/courses userId {}", userId);
         return result.getBody();
@@ -53,6 +62,13 @@ public class CourseClient {
 
     public void deleteUserInCourse(UUID userId) {
         String url = REQUEST_URL_COURSE + "/api/v1/courses/users/" + userId;
-        restTemplate.exchange(url, HttpMethod.DELETE, null, String.class);
+        Timer.Sample sample = courseClientMetrics.start();
+        try {
+            restTemplate.exchange(url, HttpMethod.DELETE, null, String.class);
+            courseClientMetrics.success(sample, "deleteUserInCourse");
+        } catch (RuntimeException e) {
+            courseClientMetrics.failure(sample, "deleteUserInCourse", e);
+            throw e;
+        }
     }
 }
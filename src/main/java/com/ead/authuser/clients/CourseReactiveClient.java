@@ -0,0 +1,115 @@
+package com.ead.authuser.clients;
+
+import com.ead.authuser.dtos.CourseDto;
+import com.ead.authuser.dtos.ResponsePageDto;
+import com.ead.authuser.metrics.CourseClientMetrics;
+import com.ead.authuser.services.UtilsService;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Log4j2
+@Component
+public class CourseReactiveClient {
+
+    private static final ParameterizedTypeReference<ResponsePageDto<CourseDto>> COURSE_PAGE_TYPE =
+            new ParameterizedTypeReference<>() {};
+    // UtilsService.createUrl puts the user first in the query string
+    private static final String USER_PARAMETER = "?userId=";
+
+    private final WebClient courseWebClient;
+    private final UtilsService utilsService;
+    private final CourseClientMetrics courseClientMetrics;
+    private final AsyncLoadingCache<String, Page<CourseDto>> coursePages;
+
+    @Value("${ead.api.url.course}")
+    private String REQUEST_URL_COURSE;
+
+    public CourseReactiveClient(WebClient courseWebClient,
+                                UtilsService utilsService,
+                                CourseClientMetrics courseClientMetrics,
+                                MeterRegistry meterRegistry,
+                                @Value("${ead.cache.course-pages.maximum-size}") long maximumSize,
+                                @Value("${ead.cache.course-pages.refresh-after}") Duration refreshAfter,
+                                @Value("${ead.cache.course-pages.ttl}") Duration ttl) {
+        this.courseWebClient = courseWebClient;
+        this.utilsService = utilsService;
+        this.courseClientMetrics = courseClientMetrics;
+        // concurrent misses for the same url share one request, entries older than refreshAfter
+        // are served while a single background reload runs, entries older than ttl are never served
+        this.coursePages = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .refreshAfterWrite(refreshAfter)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync((path, executor) -> fetch(path).toFuture());
+        CaffeineCacheMetrics.monitor(meterRegistry, coursePages.synchronous(), "course-pages");
+    }
+
+    public Mono<Page<CourseDto>> getAllCoursesByUser(UUID userId, Pageable pageable) {
+        return Mono.fromFuture(coursePages.get(utilsService.createUrl(userId, pageable)));
+    }
+
+    public void evictUser(UUID userId) {
+        evictUsers(List.of(userId));
+    }
+
+    public void evictUsers(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Set<String> users = userIds.stream().map(UUID::toString).collect(Collectors.toSet());
+        // one pass over the cache whatever the batch size, each key is matched by its userId parameter
+        coursePages.synchronous().asMap().keySet().removeIf(path -> users.contains(userIdOf(path)));
+    }
+
+    public void evictAll() {
+        coursePages.synchronous().invalidateAll();
+    }
+
+    private static String userIdOf(String path) {
+        int start = path.indexOf(USER_PARAMETER);
+        if (start < 0) {
+            return null;
+        }
+        start += USER_PARAMETER.length();
+        int end = path.indexOf('&', start);
+        return end < 0 ? path.substring(start) : path.substring(start, end);
+    }
+
+    private Mono<Page<CourseDto>> fetch(String path) {
+        String url = REQUEST_URL_COURSE + path;
+        log.debug("Request URL: {}", url);
+
+        return Mono.defer(() -> {
+            Timer.Sample sample = courseClientMetrics.start();
+            return courseWebClient.get()
+                    .uri(url)
+                    .retrieve()
+                    .bodyToMono(COURSE_PAGE_TYPE)
+                    .<Page<CourseDto>>map(page -> page)
+                    .doOnNext(page -> log.debug("Response Number of elements: {}", page.getNumberOfElements()))
+                    .doOnSuccess(page -> courseClientMetrics.success(sample, "getAllCoursesByUser"))
+                    .doOnError(e -> courseClientMetrics.failure(sample, "getAllCoursesByUser", e))
+                    .doOnError(WebClientResponseException.class, e -> log.error("Error request /api/v1/courses {}", e.getMessage()));
+        });
+    }
+}
@@ -0,0 +1,66 @@
+package com.ead.authuser.configs;
+
+import com.ead.authuser.datasource.ReplicaDataSourceProperties;
+import com.ead.authuser.datasource.ReplicaRoutingDataSource;
+import com.ead.authuser.metrics.ConnectionHoldTimeDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DataSourceConfig {
+
+    // DataSourceAutoConfiguration backs off once an R2DBC ConnectionFactory exists, JPA still needs the JDBC pool
+    @FlywayDataSource
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+                                                      ReplicaDataSourceProperties replicaDataSourceProperties,
+                                                      MeterRegistry meterRegistry) {
+        List<ReplicaDataSourceProperties.Replica> replicaProperties = replicaDataSourceProperties.getReplicas();
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaProperties.size(); i++) {
+            ReplicaDataSourceProperties.Replica replica = replicaProperties.get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .build();
+            dataSource.setPoolName("authuser-replica-" + (i + 1));
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+            // replica pools are not beans, so they would miss the hikaricp meters Boot binds to the primary pool
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(dataSource.getPoolName(), dataSource);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas);
+    }
+
+    @Primary
+    @Bean
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        // hold time is measured on the routed connection, which the lazy proxy only checks out at the first statement
+        return new LazyConnectionDataSourceProxy(new ConnectionHoldTimeDataSource(routingDataSource));
+    }
+}
@@ -0,0 +1,56 @@
+package com.ead.authuser.configs;
+
+import com.ead.authuser.metrics.PersistenceCountersTaskDecorator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor userCourseDeletionExecutor() {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("user-course-deletion-");
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor mvcAsyncExecutor(@Value("${ead.mvc.async.pool-size}") int poolSize,
+                                                   @Value("${ead.mvc.async.queue-capacity}") int queueCapacity) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.setTaskDecorator(new PersistenceCountersTaskDecorator());
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor mvcStreamingExecutor(@Value("${ead.mvc.streaming.pool-size}") int poolSize,
+                                                       @Value("${ead.mvc.streaming.queue-capacity}") int queueCapacity) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mvc-streaming-");
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashExecutor(@Value("${ead.password.pool-size}") int poolSize,
+                                                       @Value("${ead.password.queue-capacity}") int queueCapacity) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setTaskDecorator(new PersistenceCountersTaskDecorator());
+        return executor;
+    }
+}
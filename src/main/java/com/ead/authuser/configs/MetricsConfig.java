@@ -0,0 +1,20 @@
+package com.ead.authuser.configs;
+
+import com.ead.authuser.metrics.EntityLoadCountingInterceptor;
+import com.ead.authuser.metrics.QueryCountingStatementInspector;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer persistenceCountersCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountingStatementInspector());
+            properties.put(AvailableSettings.INTERCEPTOR, new EntityLoadCountingInterceptor());
+        };
+    }
+}
@@ -1,9 +1,14 @@
 package com.ead.authuser.configs;
 
+import com.ead.authuser.logging.LogSamplingInterceptor;
+import com.ead.authuser.metrics.PersistenceMetricsInterceptor;
 import net.kaczmarzyk.spring.data.jpa.web.SpecificationArgumentResolver;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurationSupport;
 
 import java.util.List;
@@ -11,6 +16,17 @@ import java.util.List;
 @Configuration
 public class ResolverConfig extends WebMvcConfigurationSupport {
 
+    private final ThreadPoolTaskExecutor mvcStreamingExecutor;
+    private final PersistenceMetricsInterceptor persistenceMetricsInterceptor;
+    private final LogSamplingInterceptor logSamplingInterceptor;
+
+    public ResolverConfig(ThreadPoolTaskExecutor mvcStreamingExecutor, PersistenceMetricsInterceptor persistenceMetricsInterceptor,
+                          LogSamplingInterceptor logSamplingInterceptor) {
+        this.mvcStreamingExecutor = mvcStreamingExecutor;
+        this.persistenceMetricsInterceptor = persistenceMetricsInterceptor;
+        this.logSamplingInterceptor = logSamplingInterceptor;
+    }
+
     @Override
     protected void addArgumentResolvers(List<HandlerMethodArgumentResolver> argumentResolvers) {
         argumentResolvers.add(new SpecificationArgumentResolver());
@@ -20,4 +36,17 @@ public class ResolverConfig extends WebMvcConfigurationSupport {
 
         super.addArgumentResolvers(argumentResolvers);
     }
+
+    @Override
+    protected void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(logSamplingInterceptor);
+        registry.addInterceptor(persistenceMetricsInterceptor);
+    }
+
+    @Override
+    protected void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        // streamed Flux responses are written from this pool with blocking servlet I/O, so a slow reader holds a thread.
+        // it is kept apart from mvcAsyncExecutor, which runs the signup and password continuations
+        configurer.setTaskExecutor(mvcStreamingExecutor);
+    }
 }
@@ -0,0 +1,34 @@
+package com.ead.authuser.configs;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Log4j2
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadConfig {
+
+    @Bean
+    public ExecutorService virtualThreadExecutor() {
+        // looked up reflectively so the service still compiles for and runs on Java 11 without this profile
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            log.info("Serving requests on virtual threads, JDK {}", Runtime.version());
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("The virtual-threads profile requires JDK 21 or newer, running on " + Runtime.version(), e);
+        }
+    }
+
+    // only Tomcat's request threads move, the outbox scheduler, the MVC async pool and the WebClient event loop keep theirs
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+}
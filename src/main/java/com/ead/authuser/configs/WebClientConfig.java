@@ -0,0 +1,42 @@
+package com.ead.authuser.configs;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+public class WebClientConfig {
+
+    @Bean
+    public WebClient courseWebClient(WebClient.Builder builder,
+                                     ReactorLoadBalancerExchangeFilterFunction loadBalancerFunction,
+                                     @Value("${ead.api.course-client.connect-timeout}") Duration connectTimeout,
+                                     @Value("${ead.api.course-client.read-timeout}") Duration readTimeout,
+                                     @Value("${ead.api.course-client.max-connections}") int maxConnections,
+                                     @Value("${ead.api.course-client.pending-acquire-max-count}") int pendingAcquireMaxCount,
+                                     @Value("${ead.api.course-client.pending-acquire-timeout}") Duration pendingAcquireTimeout,
+                                     @Value("${ead.api.course-client.max-idle-time}") Duration maxIdleTime) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("course-client")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(loadBalancerFunction)
+                .build();
+    }
+}
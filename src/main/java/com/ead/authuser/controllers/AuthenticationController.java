@@ -1,20 +1,32 @@
 package com.ead.authuser.controllers;
 
 import com.ead.authuser.dtos.UserDto;
+import com.ead.authuser.dtos.UserImportResultDto;
+import com.ead.authuser.enums.SignupConflict;
 import com.ead.authuser.enums.UserStatus;
 import com.ead.authuser.enums.UserType;
 import com.ead.authuser.models.UserModel;
+import com.ead.authuser.services.PasswordHashService;
+import com.ead.authuser.services.UserImportService;
 import com.ead.authuser.services.UserService;
 import com.fasterxml.jackson.annotation.JsonView;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.BeanUtils;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Log4j2
 @RestController
@@ -23,49 +35,103 @@ import java.time.ZoneId;
 public class AuthenticationController {
 
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final PasswordHashService passwordHashService;
+    private final ThreadPoolTaskExecutor mvcAsyncExecutor;
 
-    public AuthenticationController(UserService userService) {
+    public AuthenticationController(UserService userService, UserImportService userImportService,
+                                    PasswordHashService passwordHashService, ThreadPoolTaskExecutor mvcAsyncExecutor) {
         this.userService = userService;
+        this.userImportService = userImportService;
+        this.passwordHashService = passwordHashService;
+        this.mvcAsyncExecutor = mvcAsyncExecutor;
     }
 
     @PostMapping("/signup")
-    public ResponseEntity<Object> registerUser(
+    public CompletableFuture<ResponseEntity<Object>> registerUser(
             @RequestBody
             @Validated(UserDto.UserView.RegistrationPost.class)
             @JsonView(UserDto.UserView.RegistrationPost.class) UserDto request) {
         log.debug("POST registerUser userDto received {}", request.toString());
 
-        if (userService.existsByUsername(request.getUsername())) {
-            log.warn("POST registerUser Username {} is already taken!", request.getUsername());
-            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body("Error: Username is already taken!");
+        Optional<SignupConflict> conflict = userService.findSignupConflict(request.getUsername(), request.getEmail());
+        if (conflict.isPresent()) {
+            return CompletableFuture.completedFuture(signupConflict(conflict.get(), request));
         }
-        if (userService.existsByEmail(request.getEmail())) {
-            log.warn("POST registerUser Email {} is already taken!", request.getEmail());
-            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body("Error: Email is already taken!");
+
+        // the request thread is released while bcrypt runs, the insert continues on the MVC async pool
+        return passwordHashService.hash(request.getPassword())
+                .thenApplyAsync(password -> saveUser(request, password), mvcAsyncExecutor);
+    }
+
+    @PostMapping(value = "/signup/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> registerUsers(
+            @RequestBody
+            @JsonView(UserDto.UserView.RegistrationPost.class) List<UserDto> request) {
+        log.debug("POST registerUsers received {} rows", request.size());
+        try {
+            List<UserImportResultDto> results = userImportService.importUsers(request);
+            return ResponseEntity.status(HttpStatus.OK).body(results);
+        } catch (IllegalArgumentException e) {
+            log.warn("POST registerUsers rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body("Error: " + e.getMessage());
+        }
+    }
+
+    @PostMapping(value = "/signup/bulk", consumes = "text/csv")
+    public ResponseEntity<Object> registerUsersFromCsv(InputStream request) throws IOException {
+        log.debug("POST registerUsersFromCsv received");
+        try {
+            List<UserImportResultDto> results = userImportService.importUsersFromCsv(request);
+            return ResponseEntity.status(HttpStatus.OK).body(results);
+        } catch (IllegalArgumentException e) {
+            log.warn("POST registerUsersFromCsv rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body("Error: " + e.getMessage());
         }
+    }
+
+    @GetMapping("/")
+    public String index() {
+        log.trace("TRACE LOG");
+        log.debug("DEBUG LOG");
+        log.info("INFO LOG");
+        log.warn("WARN LOG");
+        log.error("ERROR LOG");
 
+        return "Logging Spring Boot";
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Object> passwordHashingSaturated(TaskRejectedException e) {
+        log.warn("POST registerUser password hashing saturated");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Error: Too many signups in progress, try again later.");
+    }
+
+    private ResponseEntity<Object> saveUser(UserDto request, String password) {
         var userModel = new UserModel();
         BeanUtils.copyProperties(request, userModel);
+        userModel.setPassword(password);
         userModel.setUserStatus(UserStatus.ACTIVE);
         userModel.setUserType(UserType.STUDENT);
         userModel.setCreationDate(LocalDateTime.now(ZoneId.of("UTC")));
         userModel.setLastUpdateDate(LocalDateTime.now(ZoneId.of("UTC")));
 
-        userService.save(userModel);
+        Optional<SignupConflict> conflict = userService.registerUser(userModel);
+        if (conflict.isPresent()) {
+            return signupConflict(conflict.get(), request);
+        }
         log.debug("POST registerUser userId Saved {}", userModel.getUserId());
         log.info("User saved successfully, userId: {}", userModel.getUserId());
 
         return ResponseEntity.status(HttpStatus.CREATED).body(userModel);
     }
 
-    @GetMapping("/")
-    public String index() {
-        log.trace("TRACE LOG");
-        log.debug("DEBUG LOG");
-        log.info("INFO LOG");
-        log.warn("WARN LOG");
-        log.error("ERROR LOG");
-
-        return "Logging Spring Boot";
+    private ResponseEntity<Object> signupConflict(SignupConflict conflict, UserDto request) {
+        if (conflict == SignupConflict.USERNAME) {
+            log.warn("POST registerUser Username {} is already taken!", request.getUsername());
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body("Error: Username is already taken!");
+        }
+        log.warn("POST registerUser Email {} is already taken!", request.getEmail());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body("Error: Email is already taken!");
     }
 }
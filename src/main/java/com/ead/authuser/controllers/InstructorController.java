@@ -10,8 +10,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.util.Optional;
 
 @Log4j2
@@ -28,15 +26,11 @@ public class InstructorController {
 
     @PostMapping("/subscription")
     public ResponseEntity<Object> saveSubscriptionInstructor(@RequestBody @Valid InstructorDto request) {
-        Optional<UserModel> possibleUserModel = userService.findById(request.getUserId());
+        Optional<UserModel> possibleUserModel = userService.updateUserType(request.getUserId(), UserType.INSTRUCTOR);
         if (possibleUserModel.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found.");
         } else {
-            var userModel = possibleUserModel.get();
-            userModel.setUserType(UserType.INSTRUCTOR);
-            userModel.setLastUpdateDate(LocalDateTime.now(ZoneId.of("UTC")));
-            userService.save(userModel);
-            return ResponseEntity.status(HttpStatus.CREATED).body(userModel);
+            return ResponseEntity.status(HttpStatus.CREATED).body(possibleUserModel.get());
         }
     }
 }
@@ -1,24 +1,48 @@
 package com.ead.authuser.controllers;
 
+import com.ead.authuser.dtos.CursorPageDto;
 import com.ead.authuser.dtos.UserDto;
+import com.ead.authuser.dtos.UserSummaryDto;
+import com.ead.authuser.dtos.UserVersionDto;
+import com.ead.authuser.enums.ExportFormat;
+import com.ead.authuser.enums.PageCountMode;
+import com.ead.authuser.enums.SearchMode;
 import com.ead.authuser.models.UserModel;
+import com.ead.authuser.services.PasswordHashService;
+import com.ead.authuser.services.UserChangeFeedService;
+import com.ead.authuser.services.UserExportService;
 import com.ead.authuser.services.UserService;
+import com.ead.authuser.services.UtilsService;
+import com.ead.authuser.specifications.ChangeFeedCursor;
 import com.ead.authuser.specifications.SpecificationTemplate;
+import com.ead.authuser.specifications.UserKeyset;
 import com.fasterxml.jackson.annotation.JsonView;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.data.domain.Page;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
@@ -30,47 +54,197 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 public class UserController {
 
     private final UserService userService;
+    private final PasswordHashService passwordHashService;
+    private final UserExportService userExportService;
+    private final UserChangeFeedService userChangeFeedService;
+    private final UtilsService utilsService;
+    private final ThreadPoolTaskExecutor mvcAsyncExecutor;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, PasswordHashService passwordHashService, UserExportService userExportService,
+                          UserChangeFeedService userChangeFeedService, UtilsService utilsService,
+                          ThreadPoolTaskExecutor mvcAsyncExecutor) {
         this.userService = userService;
+        this.passwordHashService = passwordHashService;
+        this.userExportService = userExportService;
+        this.userChangeFeedService = userChangeFeedService;
+        this.utilsService = utilsService;
+        this.mvcAsyncExecutor = mvcAsyncExecutor;
     }
 
     @GetMapping
-    public ResponseEntity<Page<UserModel>> getAllUsers(
+    public ResponseEntity<Slice<UserModel>> getAllUsers(
             SpecificationTemplate.UserSpec spec,
             @PageableDefault(
                     page = 0,
                     size = 10,
                     sort = "userId",
                     direction = Sort.Direction.ASC) Pageable pageable,
-            @RequestParam(required = false) UUID courseId) {
-        log.debug("GET getAllUsers users with pagination");
+            @RequestParam(required = false) UUID courseId,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "CONTAINS") SearchMode searchMode,
+            @RequestParam(defaultValue = "EXACT") PageCountMode count,
+            ServletWebRequest webRequest) {
+        log.debug("GET getAllUsers users with pagination, count mode {}", count);
 
-        Page<UserModel> userModelPage;
-        if (courseId != null) {
-            userModelPage = userService.findAll(SpecificationTemplate.userCourseId(courseId).and(spec), pageable);
-        } else {
-            userModelPage = userService.findAll(spec, pageable);
+        Specification<UserModel> filter = SpecificationTemplate.withSearch(spec, search, searchMode);
+        UserVersionDto version = findListVersion(filter, courseId, count);
+        if (isListNotModified(version, webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
         }
 
+        Slice<UserModel> userModelPage = version != null
+                ? userService.findAll(filter, pageable, version.getCount())
+                : userService.findAll(filter, courseId, pageable, count);
+
         if (userModelPage.hasContent()) {
             for (UserModel model : userModelPage.toList()) {
-                model.add(linkTo(methodOn(UserController.class).getUserById(model.getUserId())).withSelfRel());
+                model.add(linkTo(methodOn(UserController.class).getUserById(model.getUserId(), null)).withSelfRel());
             }
         }
 
         return ResponseEntity.status(HttpStatus.OK).body(userModelPage);
     }
 
+    @GetMapping("/summary")
+    public ResponseEntity<Slice<UserSummaryDto>> getAllUserSummaries(
+            SpecificationTemplate.UserSpec spec,
+            @PageableDefault(
+                    page = 0,
+                    size = 10,
+                    sort = "userId",
+                    direction = Sort.Direction.ASC) Pageable pageable,
+            @RequestParam(required = false) UUID courseId,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "CONTAINS") SearchMode searchMode,
+            @RequestParam(defaultValue = "EXACT") PageCountMode count,
+            ServletWebRequest webRequest) {
+        log.debug("GET getAllUserSummaries users with pagination, count mode {}", count);
+
+        Specification<UserModel> filter = SpecificationTemplate.withSearch(spec, search, searchMode);
+        UserVersionDto version = findListVersion(filter, courseId, count);
+        if (isListNotModified(version, webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+
+        Slice<UserSummaryDto> userSummaryPage = version != null
+                ? userService.findAllSummaries(filter, pageable, version.getCount())
+                : userService.findAllSummaries(filter, courseId, pageable, count);
+
+        String usersUri = linkTo(UserController.class).toUri().toString();
+        for (UserSummaryDto summary : userSummaryPage) {
+            summary.add(Link.of(usersUri + "/" + summary.getUserId()));
+        }
+
+        return ResponseEntity.status(HttpStatus.OK).body(userSummaryPage);
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<Object> getAllUsersByCursor(
+            SpecificationTemplate.UserSpec spec,
+            @PageableDefault(
+                    size = 10,
+                    sort = "userId",
+                    direction = Sort.Direction.ASC) Pageable pageable,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) UUID courseId,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "CONTAINS") SearchMode searchMode) {
+        log.debug("GET getAllUsersByCursor users with keyset pagination");
+
+        UserKeyset keyset;
+        try {
+            keyset = cursor != null ? UserKeyset.decode(cursor) : UserKeyset.of(pageable.getSort());
+        } catch (IllegalArgumentException e) {
+            log.warn("GET getAllUsersByCursor invalid cursor: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: " + e.getMessage());
+        }
+
+        Specification<UserModel> searchFilter = SpecificationTemplate.withSearch(spec, search, searchMode);
+        Specification<UserModel> filter = courseId != null ? SpecificationTemplate.userCourseId(courseId).and(searchFilter) : searchFilter;
+        Slice<UserModel> userModelSlice = userService.findAllByKeyset(filter, keyset, pageable.getPageSize());
+
+        for (UserModel model : userModelSlice) {
+            model.add(linkTo(methodOn(UserController.class).getUserById(model.getUserId(), null)).withSelfRel());
+        }
+
+        String nextCursor = null;
+        if (userModelSlice.hasNext()) {
+            List<UserModel> content = userModelSlice.getContent();
+            nextCursor = keyset.after(content.get(content.size() - 1)).encode();
+        }
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(new CursorPageDto<>(userModelSlice.getContent(), userModelSlice.getSize(), userModelSlice.hasNext(), nextCursor));
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<Object> getUserChanges(@RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false)
+                                                 @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+                                                 @RequestParam(defaultValue = "100") int size) {
+        log.debug("GET getUserChanges cursor {}, since {}", cursor, since);
+
+        ChangeFeedCursor feedCursor;
+        try {
+            feedCursor = cursor != null ? ChangeFeedCursor.decode(cursor)
+                    : since != null ? ChangeFeedCursor.since(since) : ChangeFeedCursor.beginning();
+        } catch (IllegalArgumentException e) {
+            log.warn("GET getUserChanges invalid cursor: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: " + e.getMessage());
+        }
+        if ((cursor != null || since != null) && userChangeFeedService.isBeyondRetention(feedCursor)) {
+            log.warn("GET getUserChanges cursor older than tombstone retention {}", feedCursor.getWatermark());
+            return ResponseEntity.status(HttpStatus.GONE).body("Error: Cursor is older than the deletion history, resync from the beginning.");
+        }
+
+        return ResponseEntity.status(HttpStatus.OK).body(userChangeFeedService.findChanges(feedCursor, size));
+    }
+
+    @GetMapping("/export")
+    public void exportUsers(SpecificationTemplate.UserSpec spec,
+                            @RequestParam(required = false) UUID courseId,
+                            @RequestParam(required = false) String search,
+                            @RequestParam(defaultValue = "CONTAINS") SearchMode searchMode,
+                            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                            HttpServletResponse response) throws IOException {
+        log.debug("GET exportUsers format {}", format);
+
+        Specification<UserModel> searchFilter = SpecificationTemplate.withSearch(spec, search, searchMode);
+        Specification<UserModel> filter = courseId != null ? SpecificationTemplate.userCourseId(courseId).and(searchFilter) : searchFilter;
+
+        boolean csv = format == ExportFormat.CSV;
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(csv ? "text/csv;charset=UTF-8" : MediaType.APPLICATION_NDJSON_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + (csv ? "csv" : "ndjson") + "\"");
+        userExportService.export(filter, format, response.getOutputStream());
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getUserById(@PathVariable(value = "id") UUID id) {
+    public ResponseEntity<Object> getUserById(@PathVariable(value = "id") UUID id, WebRequest webRequest) {
         log.debug("GET getUserById userId {}", id);
 
+        // a revalidation only needs lastUpdateDate, so a 304 never loads or serializes the entity
+        boolean revalidating = webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+        if (revalidating) {
+            Optional<LocalDateTime> lastUpdateDate = userService.findLastUpdateDate(id);
+            if (lastUpdateDate.isEmpty()) {
+                log.warn("GET getUserById userId {} NOT FOUND", id);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
+            }
+            if (webRequest.checkNotModified(utilsService.createETag(id, lastUpdateDate.get()))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+        }
+
         Optional<UserModel> possibleUserModel = userService.findById(id);
         if (possibleUserModel.isEmpty()) {
             log.warn("GET getUserById userId {} NOT FOUND", id);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
         }
+        if (!revalidating) {
+            // nothing to compare against, this only sets the ETag header from the entity already loaded
+            webRequest.checkNotModified(utilsService.createETag(id, possibleUserModel.get().getLastUpdateDate()));
+        }
         return ResponseEntity.status(HttpStatus.OK).body(possibleUserModel.get());
     }
 
@@ -97,49 +271,60 @@ public class UserController {
                                                  @Validated(UserDto.UserView.UserPut.class)
                                                  @JsonView(UserDto.UserView.UserPut.class) UserDto request) {
         log.debug("PUT updateUserById userDto received {}", request.toString());
-        Optional<UserModel> possibleUserModel = userService.findById(id);
+        Optional<UserModel> possibleUserModel = userService.updateProfile(id, request);
         if (possibleUserModel.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
         }
 
         var userModel = possibleUserModel.get();
-        userModel.setFullname(request.getFullname());
-        userModel.setPhoneNumber(request.getPhoneNumber());
-        userModel.setCpf(request.getCpf());
-        userModel.setLastUpdateDate(LocalDateTime.now(ZoneId.of("UTC")));
-        userService.save(userModel);
-
         log.debug("PUT updateUserById userId Saved {}", userModel.getUserId());
         log.info("User updated successfully, userId: {}", userModel.getUserId());
 
         return ResponseEntity.status(HttpStatus.OK).body(userModel);
     }
 
+    @PatchMapping("/{id}")
+    public ResponseEntity<Object> patchUserById(@PathVariable(value = "id") UUID id,
+                                                @RequestBody
+                                                @Validated(UserDto.UserView.UserPatch.class)
+                                                @JsonView(UserDto.UserView.UserPatch.class) UserDto request) {
+        log.debug("PATCH patchUserById userDto received {}", request.toString());
+        Optional<UserModel> possibleUserModel = userService.patchProfile(id, request);
+        if (possibleUserModel.isEmpty()) {
+            log.warn("PATCH patchUserById userId {} NOT FOUND", id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
+        }
+
+        log.info("User patched successfully, userId: {}", id);
+
+        return ResponseEntity.status(HttpStatus.OK).body(possibleUserModel.get());
+    }
+
     @PutMapping("/{id}/password")
-    public ResponseEntity<Object> updateUserPasswordById(@PathVariable(value = "id") UUID id,
-                                                         @RequestBody
-                                                         @Validated(UserDto.UserView.PasswordPut.class)
-                                                         @JsonView(UserDto.UserView.PasswordPut.class) UserDto request) {
+    public CompletableFuture<ResponseEntity<Object>> updateUserPasswordById(@PathVariable(value = "id") UUID id,
+                                                                            @RequestBody
+                                                                            @Validated(UserDto.UserView.PasswordPut.class)
+                                                                            @JsonView(UserDto.UserView.PasswordPut.class) UserDto request) {
         log.info("PUT updateUserPasswordById userId {}", id);
 
         Optional<UserModel> possibleUserModel = userService.findById(id);
         if (possibleUserModel.isEmpty()) {
             log.warn("PUT updateUserPasswordById userId {} NOT FOUND", id);
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
-        }
-        if (!possibleUserModel.get().getPassword().equals(request.getOldPassword())) {
-            log.warn("PUT updateUserPasswordById Mismatched old password, userId {}", id);
-            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body("Error: Mismatched old password.");
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found"));
         }
 
-        var userModel = possibleUserModel.get();
-        userModel.setPassword(request.getPassword());
-        userModel.setLastUpdateDate(LocalDateTime.now(ZoneId.of("UTC")));
-        userService.save(userModel);
-
-        log.info("User updated successfully, userId: {}", userModel.getUserId());
-
-        return ResponseEntity.status(HttpStatus.OK).body("Password update successfully.");
+        // verify and hash run on the password pool, the request thread is released until the update is written.
+        // the stored hash is replaced right after, so a rehash of the old password would be thrown away
+        return userService.checkPassword(possibleUserModel.get(), request.getOldPassword(), false)
+                .<ResponseEntity<Object>>thenCompose(verification -> {
+                    if (!verification.isMatches()) {
+                        log.warn("PUT updateUserPasswordById Mismatched old password, userId {}", id);
+                        return CompletableFuture.completedFuture(
+                                ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body("Error: Mismatched old password."));
+                    }
+                    return passwordHashService.hash(request.getPassword())
+                            .thenApplyAsync(password -> savePassword(id, password), mvcAsyncExecutor);
+                });
     }
 
     @PutMapping("/{id}/image")
@@ -149,20 +334,48 @@ public class UserController {
                                                       @JsonView(UserDto.UserView.ImagePut.class) UserDto request) {
         log.info("PUT updateUserImageById userId {}", id);
 
-        Optional<UserModel> possibleUserModel = userService.findById(id);
+        Optional<UserModel> possibleUserModel = userService.updateImage(id, request.getImageUrl());
         if (possibleUserModel.isEmpty()) {
             log.warn("PUT updateUserPasswordById userId {} NOT FOUND", id);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
         }
 
         var userModel = possibleUserModel.get();
-        userModel.setImageUrl(request.getImageUrl());
-        userModel.setLastUpdateDate(LocalDateTime.now(ZoneId.of("UTC")));
-        userService.save(userModel);
 
         log.debug("PUT updateUserImageById userId Saved {}", userModel.getUserId());
         log.info("User updated successfully, userId: {}", userModel.getUserId());
 
         return ResponseEntity.status(HttpStatus.OK).body(userModel);
     }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Object> passwordHashingSaturated(TaskRejectedException e) {
+        log.warn("PUT updateUserPasswordById password hashing saturated");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Error: Too many password operations, try again later.");
+    }
+
+    private ResponseEntity<Object> savePassword(UUID id, String password) {
+        if (userService.updatePassword(id, password).isEmpty()) {
+            log.warn("PUT updateUserPasswordById userId {} NOT FOUND", id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
+        }
+
+        log.info("User updated successfully, userId: {}", id);
+
+        return ResponseEntity.status(HttpStatus.OK).body("Password update successfully.");
+    }
+
+    // an exact page takes its total from this aggregate instead of a separate count, the max tags the response for free.
+    // course membership carries no timestamp, so course pages are never tagged
+    private UserVersionDto findListVersion(Specification<UserModel> filter, UUID courseId, PageCountMode count) {
+        return courseId == null && count == PageCountMode.EXACT ? userService.findVersion(filter) : null;
+    }
+
+    // also sets the ETag header when the page is sent
+    private boolean isListNotModified(UserVersionDto version, ServletWebRequest webRequest) {
+        if (version == null) {
+            return false;
+        }
+        return webRequest.checkNotModified(utilsService.createWeakETag(version, webRequest.getRequest().getQueryString()));
+    }
 }
@@ -1,13 +1,18 @@
 package com.ead.authuser.controllers;
 
-import com.ead.authuser.clients.CourseClient;
+import com.ead.authuser.clients.CourseReactiveClient;
 import com.ead.authuser.dtos.CourseDto;
+import com.ead.authuser.dtos.CourseSubscriptionBatchDto;
+import com.ead.authuser.dtos.DeletionJobDto;
+import com.ead.authuser.dtos.SubscriptionBatchResultDto;
 import com.ead.authuser.dtos.UserCourseDto;
+import com.ead.authuser.dtos.UserSubscriptionBatchDto;
 import com.ead.authuser.models.UserCourseModel;
 import com.ead.authuser.models.UserModel;
 import com.ead.authuser.services.UserCourseService;
 import com.ead.authuser.services.UserService;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -19,28 +24,31 @@ import org.springframework.web.bind.annotation.*;
 import javax.validation.Valid;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Log4j2
 @RestController
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class UserCourseController {
 
-    private final CourseClient courseClient;
+    private final CourseReactiveClient courseReactiveClient;
     private final UserService userService;
     private final UserCourseService userCourseService;
 
-    public UserCourseController(CourseClient courseClient, UserService userService, UserCourseService userCourseService) {
-        this.courseClient = courseClient;
+    public UserCourseController(CourseReactiveClient courseReactiveClient, UserService userService, UserCourseService userCourseService) {
+        this.courseReactiveClient = courseReactiveClient;
         this.userService = userService;
         this.userCourseService = userCourseService;
     }
 
     @GetMapping("/api/v1/users/{userId}/courses")
-    public ResponseEntity<Page<CourseDto>> getAllCoursesByUser(
+    public CompletableFuture<ResponseEntity<Page<CourseDto>>> getAllCoursesByUser(
             @PageableDefault(page = 0, size = 10, sort = "courseId", direction = Sort.Direction.ASC) Pageable pageable,
             @PathVariable(value = "userId") UUID userId) {
 
-        return ResponseEntity.status(HttpStatus.OK).body(courseClient.getAllCoursesByUser(userId, pageable));
+        return courseReactiveClient.getAllCoursesByUser(userId, pageable)
+                .map(page -> ResponseEntity.status(HttpStatus.OK).body(page))
+                .toFuture();
     }
 
     @PostMapping("/api/v1/users/{userId}/courses/subscription")
@@ -51,22 +59,70 @@ public class UserCourseController {
             log.warn("POST saveSubscriptionUserInCourse userId {} NOT FOUND", userId);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
         }
-        if (userCourseService.existsByUserAndCourseId(possibleUserModel.get(), request.getCourseId())) {
+
+        Optional<UserCourseModel> userCourseModel = userCourseService.subscribe(possibleUserModel.get(), request.getCourseId());
+        if (userCourseModel.isEmpty()) {
             log.warn("POST saveSubscriptionUserInCourse userId {} subscription already exists", userId);
             return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body("Error: subscription already exists");
         }
+        courseReactiveClient.evictUser(userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(userCourseModel.get());
+    }
+
+    @PostMapping("/api/v1/users/{userId}/courses/subscriptions")
+    public ResponseEntity<Object> saveSubscriptionsUserInCourses(@PathVariable(value = "userId") UUID userId,
+                                                                 @RequestBody @Valid UserSubscriptionBatchDto request) {
+        Optional<UserModel> possibleUserModel = userService.findById(userId);
+        if (possibleUserModel.isEmpty()) {
+            log.warn("POST saveSubscriptionsUserInCourses userId {} NOT FOUND", userId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
+        }
 
-        var userCourseModel = userCourseService.save(new UserCourseModel(null, possibleUserModel.get(), request.getCourseId()));
-        return ResponseEntity.status(HttpStatus.CREATED).body(userCourseModel);
+        SubscriptionBatchResultDto result = userCourseService.subscribeUserInCourses(possibleUserModel.get(), request.getCourseIds());
+        courseReactiveClient.evictUser(userId);
+        log.info("User subscribed in {} courses, userId: {}", result.getSubscribed().size(), userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+
+    @PostMapping("/api/v1/users/courses/{courseId}/subscriptions")
+    public ResponseEntity<Object> saveSubscriptionsUsersInCourse(@PathVariable(value = "courseId") UUID courseId,
+                                                                 @RequestBody @Valid CourseSubscriptionBatchDto request) {
+        SubscriptionBatchResultDto result = userCourseService.subscribeUsersInCourse(courseId, request.getUserIds());
+        courseReactiveClient.evictUsers(result.getSubscribed());
+        log.info("{} users subscribed in course, courseId: {}", result.getSubscribed().size(), courseId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
     }
 
     @DeleteMapping("/api/v1/users/courses/{courseId}")
-    public ResponseEntity<Object> deleteUserCourseByCourse(@PathVariable(value = "courseId") UUID courseId) {
+    public ResponseEntity<Object> deleteUserCourseByCourse(@PathVariable(value = "courseId") UUID courseId,
+                                                           @RequestParam(defaultValue = "false") boolean async) {
         if (!userCourseService.existsByCourseId(courseId)) {
             log.warn("DELETE deleteUserCourseByCourse courseId {} NOT FOUND", courseId);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("UserCourse not found");
         }
-        userCourseService.deleteUserCourseByCourse(courseId);
+        courseReactiveClient.evictAll();
+        if (async) {
+            try {
+                DeletionJobDto job = userCourseService.deleteUserCourseByCourseAsync(courseId);
+                log.info("Deletion job {} started for courseId {}", job.getJobId(), courseId);
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+            } catch (TaskRejectedException e) {
+                log.warn("DELETE deleteUserCourseByCourse courseId {} rejected, deletion queue is full", courseId);
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Error: deletion queue is full");
+            }
+        }
+        long deletedRows = userCourseService.deleteUserCourseByCourse(courseId);
+        log.info("{} subscriptions deleted for courseId {}", deletedRows, courseId);
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
+
+    @GetMapping("/api/v1/users/courses/deletions/{jobId}")
+    public ResponseEntity<Object> getDeletionJob(@PathVariable(value = "jobId") UUID jobId) {
+        Optional<DeletionJobDto> possibleJob = userCourseService.findDeletionJob(jobId);
+        if (possibleJob.isEmpty()) {
+            log.warn("GET getDeletionJob jobId {} NOT FOUND", jobId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Deletion job not found");
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(possibleJob.get());
+    }
 }
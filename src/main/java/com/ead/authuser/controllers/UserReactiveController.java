@@ -0,0 +1,50 @@
+package com.ead.authuser.controllers;
+
+import com.ead.authuser.dtos.UserFilterDto;
+import com.ead.authuser.dtos.UserSummaryDto;
+import com.ead.authuser.services.UserReactiveService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+@Log4j2
+@RestController
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RequestMapping("/api/v1/reactive/users")
+public class UserReactiveController {
+
+    private final UserReactiveService userReactiveService;
+
+    public UserReactiveController(UserReactiveService userReactiveService) {
+        this.userReactiveService = userReactiveService;
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<UserSummaryDto> getAllUsers(UserFilterDto filter,
+                                            @RequestParam(defaultValue = "1000") int limit) {
+        log.debug("GET reactive getAllUsers filter {}, limit {}", filter, limit);
+
+        String usersUri = linkTo(UserController.class).toUri().toString();
+        return userReactiveService.findAll(filter, limit)
+                .map(summary -> summary.add(Link.of(usersUri + "/" + summary.getUserId())));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Object>> getUserById(@PathVariable(value = "id") UUID id) {
+        log.debug("GET reactive getUserById userId {}", id);
+
+        String usersUri = linkTo(UserController.class).toUri().toString();
+        return userReactiveService.findById(id)
+                .map(summary -> ResponseEntity.status(HttpStatus.OK).<Object>body(summary.add(Link.of(usersUri + "/" + id))))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found"));
+    }
+}
@@ -0,0 +1,69 @@
+package com.ead.authuser.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Log4j2
+@Component
+public class ReplicaLagMonitor {
+
+    // an idle standby stops replaying, so a fully replayed WAL counts as no lag however old the last transaction is.
+    // a standby whose receiver is gone also has nothing left to replay, so without a streaming receiver the lag is
+    // unknown (NULL) rather than 0. the status column is only visible to pg_read_all_stats, without it reads stay on
+    // the primary
+    private static final String REPLICA_LAG =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final double maxLagSeconds;
+    private final Map<String, Double> lags = new ConcurrentHashMap<>();
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource, ReplicaDataSourceProperties replicaDataSourceProperties,
+                             MeterRegistry meterRegistry) {
+        this.routingDataSource = routingDataSource;
+        this.maxLagSeconds = replicaDataSourceProperties.getMaxLag().toMillis() / 1000.0;
+        for (String replica : routingDataSource.getReplicas().keySet()) {
+            lags.put(replica, Double.NaN);
+            Gauge.builder("ead.datasource.replica.lag", lags, values -> values.get(replica))
+                    .tag("pool", replica)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ead.datasource.lag-check-interval}")
+    public void checkReplicaLag() {
+        routingDataSource.getReplicas().forEach((replica, dataSource) -> {
+            double lag;
+            try {
+                Double measured = new JdbcTemplate(dataSource).queryForObject(REPLICA_LAG, Double.class);
+                lag = measured != null ? measured : Double.NaN;
+            } catch (DataAccessException e) {
+                log.warn("Replica {} lag check failed: {}", replica, e.getMessage());
+                lag = Double.NaN;
+            }
+            lags.put(replica, lag);
+            boolean available = isRoutable(lag);
+            if (!available) {
+                log.warn("Replica {} removed from read routing, lag {}s", replica, lag);
+            }
+            routingDataSource.setAvailable(replica, available);
+        });
+    }
+
+    // NaN (unknown lag, failed check) compares false, so only a measured lag within the bound keeps a replica routable
+    boolean isRoutable(double lag) {
+        return lag <= maxLagSeconds;
+    }
+}
@@ -0,0 +1,60 @@
+package com.ead.authuser.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final Map<String, HikariDataSource> replicas;
+    private final Set<String> availableReplicas = new LinkedHashSet<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile List<String> routableReplicas = List.of();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, HikariDataSource> replicas) {
+        this.replicas = replicas;
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    public Map<String, HikariDataSource> getReplicas() {
+        return replicas;
+    }
+
+    public synchronized void setAvailable(String replica, boolean available) {
+        boolean changed = available ? availableReplicas.add(replica) : availableReplicas.remove(replica);
+        if (changed) {
+            routableReplicas = List.copyOf(availableReplicas);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        // wrapped in a LazyConnectionDataSourceProxy, so the read-only flag is already bound when the first statement runs
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        List<String> candidates = routableReplicas;
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    public void close() {
+        new ArrayList<>(replicas.values()).forEach(HikariDataSource::close);
+    }
+}
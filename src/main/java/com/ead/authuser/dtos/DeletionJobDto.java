@@ -0,0 +1,26 @@
+package com.ead.authuser.dtos;
+
+import com.ead.authuser.enums.JobStatus;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DeletionJobDto {
+
+    private final UUID jobId;
+    private final UUID courseId;
+    private volatile JobStatus status;
+    private volatile long deletedRows;
+    private volatile String error;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy HH:mm:ss")
+    private final LocalDateTime startDate;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy HH:mm:ss")
+    private volatile LocalDateTime endDate;
+}
@@ -0,0 +1,12 @@
+package com.ead.authuser.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PasswordVerificationDto {
+
+    private boolean matches;
+    private String rehashedPassword;
+}
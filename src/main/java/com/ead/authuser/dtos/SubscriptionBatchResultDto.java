@@ -0,0 +1,17 @@
+package com.ead.authuser.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class SubscriptionBatchResultDto {
+
+    private List<UUID> subscribed = new ArrayList<>();
+    private List<UUID> alreadySubscribed = new ArrayList<>();
+    private List<UUID> notFound = new ArrayList<>();
+}
@@ -0,0 +1,24 @@
+package com.ead.authuser.dtos;
+
+import com.ead.authuser.enums.ChangeType;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserChangeDto {
+
+    private UUID userId;
+    private ChangeType changeType;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy HH:mm:ss.SSSSSS")
+    private LocalDateTime changeDate;
+
+    private UserSummaryDto user;
+}
@@ -4,9 +4,11 @@ import com.ead.authuser.validation.UsernameConstraint;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonView;
 import lombok.Data;
+import lombok.ToString;
 
 import javax.validation.constraints.Email;
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Size;
 import java.util.UUID;
 
@@ -19,8 +21,11 @@ public class UserDto {
         public static interface UserPut {}
         public static interface PasswordPut {}
         public static interface ImagePut {}
+        public static interface UserPatch {}
     }
 
+    private static final String NOT_BLANK = "(?s).*\\S.*";
+
     private UUID userId;
 
     @NotBlank(groups = UserView.RegistrationPost.class)
@@ -37,25 +42,30 @@ public class UserDto {
 
     @NotBlank(groups = {UserView.RegistrationPost.class, UserView.PasswordPut.class})
     @Size(min = 6, max = 20, groups = {UserView.RegistrationPost.class, UserView.PasswordPut.class})
+    @ToString.Exclude
     @JsonView({UserView.RegistrationPost.class, UserView.PasswordPut.class})
     private String password;
 
     @NotBlank(groups = UserView.PasswordPut.class)
     @Size(min = 6, max = 20, groups = UserView.PasswordPut.class)
+    @ToString.Exclude
     @JsonView({UserView.PasswordPut.class})
     private String oldPassword;
 
-    @JsonView({UserView.RegistrationPost.class, UserView.UserPut.class})
+    // a PATCH may leave a field out, but not blank it
+    @Pattern(regexp = NOT_BLANK, message = "must not be blank", groups = UserView.UserPatch.class)
+    @JsonView({UserView.RegistrationPost.class, UserView.UserPut.class, UserView.UserPatch.class})
     private String fullname;
 
-    @JsonView({UserView.RegistrationPost.class, UserView.UserPut.class})
+    @JsonView({UserView.RegistrationPost.class, UserView.UserPut.class, UserView.UserPatch.class})
     private String phoneNumber;
 
-    @JsonView({UserView.RegistrationPost.class, UserView.UserPut.class})
+    @JsonView({UserView.RegistrationPost.class, UserView.UserPut.class, UserView.UserPatch.class})
     private String cpf;
 
     @NotBlank(groups = UserView.ImagePut.class)
-    @JsonView({UserView.ImagePut.class})
+    @Pattern(regexp = NOT_BLANK, message = "must not be blank", groups = UserView.UserPatch.class)
+    @JsonView({UserView.ImagePut.class, UserView.UserPatch.class})
     private String imageUrl;
 
 }
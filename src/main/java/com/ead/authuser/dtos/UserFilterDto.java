@@ -0,0 +1,20 @@
+package com.ead.authuser.dtos;
+
+import com.ead.authuser.enums.SearchMode;
+import com.ead.authuser.enums.UserStatus;
+import com.ead.authuser.enums.UserType;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+public class UserFilterDto {
+
+    private UserType userType;
+    private UserStatus userStatus;
+    private String email;
+    private String fullName;
+    private String search;
+    private SearchMode searchMode = SearchMode.CONTAINS;
+    private UUID after;
+}
@@ -0,0 +1,22 @@
+package com.ead.authuser.dtos;
+
+import com.ead.authuser.enums.ImportStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportResultDto {
+
+    private int row;
+    private String username;
+    private UUID userId;
+    private ImportStatus status;
+    private String message;
+}
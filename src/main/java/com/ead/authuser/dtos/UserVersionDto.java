@@ -0,0 +1,14 @@
+package com.ead.authuser.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class UserVersionDto {
+
+    private long count;
+    private LocalDateTime lastUpdateDate;
+}
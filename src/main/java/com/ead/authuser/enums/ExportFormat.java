@@ -0,0 +1,6 @@
+package com.ead.authuser.enums;
+
+public enum ExportFormat {
+    NDJSON,
+    CSV
+}
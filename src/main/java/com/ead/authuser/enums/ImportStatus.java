@@ -0,0 +1,8 @@
+package com.ead.authuser.enums;
+
+public enum ImportStatus {
+    CREATED,
+    INVALID,
+    DUPLICATE,
+    CONFLICT
+}
@@ -0,0 +1,7 @@
+package com.ead.authuser.enums;
+
+public enum JobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,5 @@
+package com.ead.authuser.enums;
+
+public enum OutboxEventType {
+    USER_DELETED
+}
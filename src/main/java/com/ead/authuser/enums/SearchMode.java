@@ -0,0 +1,7 @@
+package com.ead.authuser.enums;
+
+public enum SearchMode {
+    PREFIX,
+    CONTAINS,
+    EXACT
+}
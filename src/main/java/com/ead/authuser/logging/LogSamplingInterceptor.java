@@ -0,0 +1,53 @@
+package com.ead.authuser.logging;
+
+import org.apache.logging.log4j.ThreadContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Component
+public class LogSamplingInterceptor implements AsyncHandlerInterceptor {
+
+    // read by the DynamicThresholdFilter in log4j2-prod.xml
+    public static final String SAMPLED_KEY = "sampled";
+
+    private static final String SAMPLED_ATTRIBUTE = LogSamplingInterceptor.class.getName() + ".SAMPLED";
+
+    private final LogSamplingProperties logSamplingProperties;
+
+    public LogSamplingInterceptor(LogSamplingProperties logSamplingProperties) {
+        this.logSamplingProperties = logSamplingProperties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // pooled threads can still carry the flag of an earlier request that never reached afterCompletion here
+        ThreadContext.remove(SAMPLED_KEY);
+        // an async redispatch keeps the decision of its initial dispatch
+        Boolean sampled = (Boolean) request.getAttribute(SAMPLED_ATTRIBUTE);
+        if (sampled == null) {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            double rate = logSamplingProperties.rateFor(pattern != null ? pattern.toString() : request.getRequestURI());
+            sampled = rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rate;
+            request.setAttribute(SAMPLED_ATTRIBUTE, sampled);
+        }
+        if (sampled) {
+            ThreadContext.put(SAMPLED_KEY, "true");
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ThreadContext.remove(SAMPLED_KEY);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ThreadContext.remove(SAMPLED_KEY);
+    }
+}
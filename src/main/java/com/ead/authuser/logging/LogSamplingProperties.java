@@ -0,0 +1,21 @@
+package com.ead.authuser.logging;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties("ead.logging.sampling")
+public class LogSamplingProperties {
+
+    private double rate = 1.0;
+    private Map<String, Double> endpoints = new HashMap<>();
+
+    public double rateFor(String pattern) {
+        return endpoints.getOrDefault(pattern, rate);
+    }
+}
@@ -0,0 +1,54 @@
+package com.ead.authuser.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+@Component
+public class CourseClientMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public CourseClientMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void success(Timer.Sample sample, String operation) {
+        sample.stop(timer(operation, "SUCCESS"));
+    }
+
+    public void failure(Timer.Sample sample, String operation, Throwable error) {
+        String outcome = outcome(error);
+        sample.stop(timer(operation, outcome));
+        Counter.builder("ead.course.client.errors")
+                .description("Failed calls to ead-course-service")
+                .tags("operation", operation, "outcome", outcome, "exception", error.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return Timer.builder("ead.course.client.requests")
+                .description("Calls to ead-course-service")
+                .tags("operation", operation, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private String outcome(Throwable error) {
+        if (error instanceof HttpStatusCodeException) {
+            return ((HttpStatusCodeException) error).getStatusCode().series().name();
+        }
+        if (error instanceof WebClientResponseException) {
+            return ((WebClientResponseException) error).getStatusCode().series().name();
+        }
+        return "IO_ERROR";
+    }
+}
@@ -0,0 +1,15 @@
+package com.ead.authuser.metrics;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+
+public class EntityLoadCountingInterceptor extends EmptyInterceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+        PersistenceCounters.entityLoaded();
+        return false;
+    }
+}
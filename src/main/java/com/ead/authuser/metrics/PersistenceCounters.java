@@ -0,0 +1,59 @@
+package com.ead.authuser.metrics;
+
+/**
+ * Persistence work done on behalf of one HTTP request. PersistenceMetricsInterceptor keeps the instance in a
+ * request attribute and binds it to the thread for each dispatch, so an async request keeps a single set of counts
+ * across its initial dispatch and its redispatch. PersistenceCountersTaskDecorator carries the binding onto the
+ * executors that run request continuations. Threads with nothing bound (outbox, deletion jobs, listeners) are not
+ * counted.
+ */
+public final class PersistenceCounters {
+
+    private static final ThreadLocal<PersistenceCounters> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long entityLoads;
+    private long connectionHoldNanos;
+
+    static void bind(PersistenceCounters counters) {
+        CURRENT.set(counters);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    static void statementPrepared() {
+        PersistenceCounters counters = CURRENT.get();
+        if (counters != null) {
+            counters.statements++;
+        }
+    }
+
+    static void entityLoaded() {
+        PersistenceCounters counters = CURRENT.get();
+        if (counters != null) {
+            counters.entityLoads++;
+        }
+    }
+
+    static PersistenceCounters current() {
+        return CURRENT.get();
+    }
+
+    synchronized void connectionHeld(long nanos) {
+        connectionHoldNanos += nanos;
+    }
+
+    public long statements() {
+        return statements;
+    }
+
+    public long entityLoads() {
+        return entityLoads;
+    }
+
+    public synchronized long connectionHoldNanos() {
+        return connectionHoldNanos;
+    }
+}
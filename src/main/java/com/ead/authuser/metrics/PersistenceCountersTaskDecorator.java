@@ -0,0 +1,23 @@
+package com.ead.authuser.metrics;
+
+import org.springframework.core.task.TaskDecorator;
+
+public class PersistenceCountersTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        // captured on the submitting thread, so a continuation queued by a request keeps charging that request
+        PersistenceCounters counters = PersistenceCounters.current();
+        if (counters == null) {
+            return runnable;
+        }
+        return () -> {
+            PersistenceCounters.bind(counters);
+            try {
+                runnable.run();
+            } finally {
+                PersistenceCounters.unbind();
+            }
+        };
+    }
+}
@@ -0,0 +1,73 @@
+package com.ead.authuser.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class PersistenceMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String COUNTERS_ATTRIBUTE = PersistenceMetricsInterceptor.class.getName() + ".COUNTERS";
+
+    private final MeterRegistry meterRegistry;
+
+    public PersistenceMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // an async redispatch finds the counters of its initial dispatch and keeps adding to them
+        PersistenceCounters counters = (PersistenceCounters) request.getAttribute(COUNTERS_ATTRIBUTE);
+        if (counters == null) {
+            counters = new PersistenceCounters();
+            request.setAttribute(COUNTERS_ATTRIBUTE, counters);
+        }
+        PersistenceCounters.bind(counters);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        PersistenceCounters.unbind();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        PersistenceCounters.unbind();
+        PersistenceCounters counters = (PersistenceCounters) request.getAttribute(COUNTERS_ATTRIBUTE);
+        if (counters == null) {
+            return;
+        }
+        // an error dispatch of the same request starts over instead of recording these counts a second time
+        request.removeAttribute(COUNTERS_ATTRIBUTE);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        summary("ead.hibernate.statements", "Hibernate statements prepared per request", request.getMethod(), uri)
+                .record(counters.statements());
+        summary("ead.hibernate.entity.loads", "Entities hydrated per request", request.getMethod(), uri)
+                .record(counters.entityLoads());
+        // ResolverConfig replaces Boot's MVC setup, so no open-in-view interceptor keeps a connection past the transactions
+        Timer.builder("ead.jdbc.connection.hold")
+                .description("Time JDBC connections were held per request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(counters.connectionHoldNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private DistributionSummary summary(String name, String description, String method, String uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tags("method", method, "uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,12 @@
+package com.ead.authuser.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        PersistenceCounters.statementPrepared();
+        return sql;
+    }
+}
@@ -0,0 +1,39 @@
+package com.ead.authuser.models;
+
+import com.ead.authuser.enums.OutboxEventType;
+import lombok.Data;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Entity
+@Table(name = "TB_OUTBOX_EVENTS")
+public class OutboxEventModel implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID eventId;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private OutboxEventType eventType;
+
+    @Column(nullable = false)
+    private UUID aggregateId;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptDate;
+
+    @Column(nullable = false)
+    private LocalDateTime creationDate;
+
+    @Column(length = 500)
+    private String lastError;
+}
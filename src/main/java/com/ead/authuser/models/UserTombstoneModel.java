@@ -0,0 +1,28 @@
+package com.ead.authuser.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "TB_USER_TOMBSTONES")
+public class UserTombstoneModel implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private UUID userId;
+
+    @Column(nullable = false)
+    private LocalDateTime deletionDate;
+}
@@ -0,0 +1,17 @@
+package com.ead.authuser.repositories;
+
+import com.ead.authuser.models.OutboxEventModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEventModel, UUID> {
+
+    @Query(value = "SELECT * FROM tb_outbox_events WHERE next_attempt_date <= :now " +
+            "ORDER BY next_attempt_date LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEventModel> findDueForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
@@ -0,0 +1,71 @@
+package com.ead.authuser.repositories;
+
+import com.ead.authuser.dtos.UserChangeDto;
+import com.ead.authuser.dtos.UserSummaryDto;
+import com.ead.authuser.enums.ChangeType;
+import com.ead.authuser.enums.UserStatus;
+import com.ead.authuser.enums.UserType;
+import com.ead.authuser.specifications.ChangeFeedCursor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public class UserChangeRepository {
+
+    // each branch walks its (timestamp, user_id) index from the cursor, the outer sort only merges two bounded lists
+    private static final String FIND_CHANGES =
+            "(SELECT u.user_id, u.last_update_date AS change_date, 'UPDATED' AS change_type, u.username, u.email, " +
+            "        u.fullname, u.user_status, u.user_type, u.phone_number, u.cpf, u.image_url, u.creation_date " +
+            "   FROM tb_users u " +
+            "  WHERE (u.last_update_date, u.user_id) > (:changeDate, :userId) AND u.last_update_date <= :until " +
+            "  ORDER BY u.last_update_date, u.user_id LIMIT :limit) " +
+            "UNION ALL " +
+            "(SELECT t.user_id, t.deletion_date, 'DELETED', NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL, NULL " +
+            "   FROM tb_user_tombstones t " +
+            "  WHERE (t.deletion_date, t.user_id) > (:changeDate, :userId) AND t.deletion_date <= :until " +
+            "  ORDER BY t.deletion_date, t.user_id LIMIT :limit) " +
+            "ORDER BY change_date, user_id LIMIT :limit";
+
+    private static final RowMapper<UserChangeDto> USER_CHANGE_MAPPER = (rs, rowNum) -> {
+        UUID userId = rs.getObject("user_id", UUID.class);
+        LocalDateTime changeDate = rs.getObject("change_date", LocalDateTime.class);
+        ChangeType changeType = ChangeType.valueOf(rs.getString("change_type"));
+        if (changeType == ChangeType.DELETED) {
+            return new UserChangeDto(userId, changeType, changeDate, null);
+        }
+        String userType = rs.getString("user_type");
+        var user = new UserSummaryDto(userId,
+                rs.getString("username"),
+                rs.getString("email"),
+                rs.getString("fullname"),
+                UserStatus.valueOf(rs.getString("user_status")),
+                userType != null ? UserType.valueOf(userType) : null,
+                rs.getString("phone_number"),
+                rs.getString("cpf"),
+                rs.getString("image_url"),
+                rs.getObject("creation_date", LocalDateTime.class),
+                changeDate);
+        return new UserChangeDto(userId, changeType, changeDate, user);
+    };
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public UserChangeRepository(NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    public List<UserChangeDto> findChanges(ChangeFeedCursor cursor, LocalDateTime until, int limit) {
+        var parameters = new MapSqlParameterSource()
+                .addValue("changeDate", cursor.getChangeDate())
+                .addValue("userId", cursor.getUserId())
+                .addValue("until", until)
+                .addValue("limit", limit);
+        return namedParameterJdbcTemplate.query(FIND_CHANGES, parameters, USER_CHANGE_MAPPER);
+    }
+}
@@ -3,19 +3,36 @@ package com.ead.authuser.repositories;
 import com.ead.authuser.models.UserCourseModel;
 import com.ead.authuser.models.UserModel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface UserCourseRepository extends JpaRepository<UserCourseModel, UUID> {
     boolean existsByUserAndCourseId(UserModel user, UUID courseId);
 
-    @Query(value = "SELECT * FROM tb_users_courses WHERE user_user_id = :userId", nativeQuery = true)
-    List<UserCourseModel> findAllUserCourseIntoUser(@Param("userId") UUID userId);
-
     boolean existsByCourseId(UUID courseId);
 
-    void deleteAllByCourseId(UUID courseId);
+    @Modifying
+    @Query(value = "DELETE FROM tb_users_courses WHERE user_user_id = :userId", nativeQuery = true)
+    int deleteAllByUserId(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO tb_users_courses (id, user_user_id, course_id) VALUES (:id, :userId, :courseId) " +
+            "ON CONFLICT (user_user_id, course_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("id") UUID id, @Param("userId") UUID userId, @Param("courseId") UUID courseId);
+
+    @Modifying
+    @Query(value = "DELETE FROM tb_users_courses WHERE id IN " +
+            "(SELECT id FROM tb_users_courses WHERE course_id = :courseId LIMIT :limit)", nativeQuery = true)
+    int deleteChunkByCourseId(@Param("courseId") UUID courseId, @Param("limit") int limit);
+
+    @Query("SELECT uc.user.userId FROM UserCourseModel uc WHERE uc.courseId = :courseId AND uc.user.userId IN :userIds")
+    List<UUID> findSubscribedUserIds(@Param("courseId") UUID courseId, @Param("userIds") Collection<UUID> userIds);
+
+    @Query("SELECT uc.courseId FROM UserCourseModel uc WHERE uc.user.userId = :userId AND uc.courseId IN :courseIds")
+    List<UUID> findSubscribedCourseIds(@Param("userId") UUID userId, @Param("courseIds") Collection<UUID> courseIds);
 }
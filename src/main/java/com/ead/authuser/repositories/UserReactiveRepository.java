@@ -0,0 +1,97 @@
+package com.ead.authuser.repositories;
+
+import com.ead.authuser.dtos.UserFilterDto;
+import com.ead.authuser.dtos.UserSummaryDto;
+import com.ead.authuser.enums.SearchMode;
+import com.ead.authuser.enums.UserStatus;
+import com.ead.authuser.enums.UserType;
+import com.ead.authuser.specifications.SpecificationTemplate;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Repository
+public class UserReactiveRepository {
+
+    private static final String SELECT_USERS = "SELECT user_id, username, email, fullname, user_status, user_type, " +
+            "phone_number, cpf, image_url, creation_date, last_update_date FROM tb_users";
+
+    private final DatabaseClient databaseClient;
+
+    public UserReactiveRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<UserSummaryDto> findById(UUID userId) {
+        return databaseClient.sql(SELECT_USERS + " WHERE user_id = :userId")
+                .bind("userId", userId)
+                .map((row, metadata) -> toUserSummary(row))
+                .one();
+    }
+
+    public Flux<UserSummaryDto> findAll(UserFilterDto filter, int limit, int fetchSize) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> binds = new LinkedHashMap<>();
+        if (filter.getUserType() != null) {
+            conditions.add("user_type = :userType");
+            binds.put("userType", filter.getUserType().name());
+        }
+        if (filter.getUserStatus() != null) {
+            conditions.add("user_status = :userStatus");
+            binds.put("userStatus", filter.getUserStatus().name());
+        }
+        if (filter.getEmail() != null) {
+            conditions.add("lower(email) LIKE :email ESCAPE '\\'");
+            binds.put("email", SpecificationTemplate.searchPattern(filter.getEmail(), SearchMode.CONTAINS));
+        }
+        if (filter.getFullName() != null) {
+            conditions.add("lower(fullname) LIKE :fullname ESCAPE '\\'");
+            binds.put("fullname", SpecificationTemplate.searchPattern(filter.getFullName(), SearchMode.CONTAINS));
+        }
+        if (filter.getSearch() != null && !filter.getSearch().isBlank()) {
+            conditions.add("(lower(email) LIKE :search ESCAPE '\\' OR lower(fullname) LIKE :search ESCAPE '\\')");
+            binds.put("search", SpecificationTemplate.searchPattern(filter.getSearch().strip(), filter.getSearchMode()));
+        }
+        if (filter.getAfter() != null) {
+            conditions.add("user_id > :after");
+            binds.put("after", filter.getAfter());
+        }
+
+        String sql = SELECT_USERS
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY user_id LIMIT :limit";
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql).bind("limit", limit);
+        for (Map.Entry<String, Object> bind : binds.entrySet()) {
+            spec = spec.bind(bind.getKey(), bind.getValue());
+        }
+        // a portal fetch size lets the driver pull rows as subscribers request them instead of buffering the result
+        return spec.filter(statement -> statement.fetchSize(fetchSize))
+                .map((row, metadata) -> toUserSummary(row))
+                .all();
+    }
+
+    private UserSummaryDto toUserSummary(Row row) {
+        String userType = row.get("user_type", String.class);
+        return new UserSummaryDto(
+                row.get("user_id", UUID.class),
+                row.get("username", String.class),
+                row.get("email", String.class),
+                row.get("fullname", String.class),
+                UserStatus.valueOf(row.get("user_status", String.class)),
+                userType != null ? UserType.valueOf(userType) : null,
+                row.get("phone_number", String.class),
+                row.get("cpf", String.class),
+                row.get("image_url", String.class),
+                row.get("creation_date", LocalDateTime.class),
+                row.get("last_update_date", LocalDateTime.class));
+    }
+}
@@ -3,11 +3,32 @@ package com.ead.authuser.repositories;
 import com.ead.authuser.models.UserModel;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface UserRepository extends JpaRepository<UserModel, UUID>, JpaSpecificationExecutor<UserModel> {
+public interface UserRepository extends JpaRepository<UserModel, UUID>, JpaSpecificationExecutor<UserModel>, UserRepositoryCustom {
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.username FROM UserModel u WHERE u.username = :username OR u.email = :email")
+    List<String> findUsernamesTakenBy(@Param("username") String username, @Param("email") String email);
+
+    @Query("SELECT u.username FROM UserModel u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("SELECT u.email FROM UserModel u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT u.userId FROM UserModel u WHERE u.userId IN :userIds")
+    List<UUID> findExistingUserIds(@Param("userIds") Collection<UUID> userIds);
+
+    @Query("SELECT u.lastUpdateDate FROM UserModel u WHERE u.userId = :userId")
+    Optional<LocalDateTime> findLastUpdateDateById(@Param("userId") UUID userId);
 }
@@ -0,0 +1,24 @@
+package com.ead.authuser.repositories;
+
+import com.ead.authuser.dtos.UserSummaryDto;
+import com.ead.authuser.dtos.UserVersionDto;
+import com.ead.authuser.models.UserModel;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface UserRepositoryCustom {
+
+    Slice<UserModel> findSlice(Specification<UserModel> spec, Pageable pageable);
+
+    Slice<UserSummaryDto> findSummarySlice(Specification<UserModel> spec, Pageable pageable);
+
+    Stream<UserSummaryDto> streamSummaries(Specification<UserModel> spec, int fetchSize);
+
+    long estimateCount(UUID courseId);
+
+    UserVersionDto findVersion(Specification<UserModel> spec);
+}
@@ -0,0 +1,141 @@
+package com.ead.authuser.repositories;
+
+import com.ead.authuser.dtos.UserSummaryDto;
+import com.ead.authuser.dtos.UserVersionDto;
+import com.ead.authuser.models.UserModel;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private static final String ESTIMATE_ALL_USERS = "EXPLAIN (FORMAT JSON) SELECT 1 FROM tb_users";
+    private static final String ESTIMATE_USERS_IN_COURSE =
+            "EXPLAIN (FORMAT JSON) SELECT DISTINCT user_user_id FROM tb_users_courses WHERE course_id = ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public UserRepositoryCustomImpl(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Slice<UserModel> findSlice(Specification<UserModel> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserModel> query = cb.createQuery(UserModel.class);
+        Root<UserModel> root = query.from(UserModel.class);
+        query.select(root);
+        return slice(query, root, spec, pageable);
+    }
+
+    @Override
+    public Slice<UserSummaryDto> findSummarySlice(Specification<UserModel> spec, Pageable pageable) {
+        CriteriaQuery<UserSummaryDto> query = entityManager.getCriteriaBuilder().createQuery(UserSummaryDto.class);
+        Root<UserModel> root = selectSummary(query);
+        return slice(query, root, spec, pageable);
+    }
+
+    @Override
+    public Stream<UserSummaryDto> streamSummaries(Specification<UserModel> spec, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserSummaryDto> query = cb.createQuery(UserSummaryDto.class);
+        Root<UserModel> root = selectSummary(query);
+        where(query, root, spec);
+        query.orderBy(cb.asc(root.get("userId")));
+        // Hibernate backs the stream with forward-only ScrollableResults, the fetch size keeps the driver from buffering every row
+        return entityManager.createQuery(query)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    public long estimateCount(UUID courseId) {
+        // the planner row estimate comes from table statistics, so no rows are scanned
+        String plan = courseId == null
+                ? jdbcTemplate.queryForObject(ESTIMATE_ALL_USERS, String.class)
+                : jdbcTemplate.queryForObject(ESTIMATE_USERS_IN_COURSE, String.class, courseId);
+        try {
+            return objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows").asLong();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to read query plan estimate", e);
+        }
+    }
+
+    @Override
+    public UserVersionDto findVersion(Specification<UserModel> spec) {
+        // count catches deletions, the max catches inserts and updates, both come from one aggregate over the filter
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserVersionDto> query = cb.createQuery(UserVersionDto.class);
+        Root<UserModel> root = query.from(UserModel.class);
+        query.select(cb.construct(UserVersionDto.class, cb.count(root), cb.greatest(root.<LocalDateTime>get("lastUpdateDate"))));
+        where(query, root, spec);
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private Root<UserModel> selectSummary(CriteriaQuery<UserSummaryDto> query) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        Root<UserModel> root = query.from(UserModel.class);
+        query.select(cb.construct(UserSummaryDto.class,
+                root.get("userId"),
+                root.get("username"),
+                root.get("email"),
+                root.get("fullname"),
+                root.get("userStatus"),
+                root.get("userType"),
+                root.get("phoneNumber"),
+                root.get("cpf"),
+                root.get("imageUrl"),
+                root.get("creationDate"),
+                root.get("lastUpdateDate")));
+        return root;
+    }
+
+    private void where(CriteriaQuery<?> query, Root<UserModel> root, Specification<UserModel> spec) {
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, entityManager.getCriteriaBuilder());
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+    }
+
+    private <T> Slice<T> slice(CriteriaQuery<T> query, Root<UserModel> root, Specification<UserModel> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        where(query, root, spec);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        // one extra row tells whether a next slice exists without issuing a COUNT
+        List<T> content = new ArrayList<>(entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList());
+        boolean hasNext = content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content.remove(content.size() - 1);
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+}
@@ -0,0 +1,17 @@
+package com.ead.authuser.repositories;
+
+import com.ead.authuser.models.UserTombstoneModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface UserTombstoneRepository extends JpaRepository<UserTombstoneModel, UUID> {
+
+    @Modifying
+    @Query(value = "DELETE FROM tb_user_tombstones WHERE deletion_date < :before", nativeQuery = true)
+    int deleteAllDeletedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,65 @@
+package com.ead.authuser.repositories;
+
+import com.ead.authuser.enums.UserStatus;
+import com.ead.authuser.enums.UserType;
+import com.ead.authuser.models.UserModel;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+@Repository
+public class UserUpdateRepository {
+
+    private static final Set<String> UPDATABLE_COLUMNS = Set.of(
+            "fullname", "phone_number", "cpf", "image_url", "password", "user_type", "user_status", "last_update_date");
+
+    private static final RowMapper<UserModel> USER_MAPPER = (rs, rowNum) -> {
+        var userModel = new UserModel();
+        userModel.setUserId(rs.getObject("user_id", UUID.class));
+        userModel.setUsername(rs.getString("username"));
+        userModel.setEmail(rs.getString("email"));
+        userModel.setPassword(rs.getString("password"));
+        userModel.setFullname(rs.getString("fullname"));
+        userModel.setUserStatus(UserStatus.valueOf(rs.getString("user_status")));
+        String userType = rs.getString("user_type");
+        userModel.setUserType(userType != null ? UserType.valueOf(userType) : null);
+        userModel.setPhoneNumber(rs.getString("phone_number"));
+        userModel.setCpf(rs.getString("cpf"));
+        userModel.setImageUrl(rs.getString("image_url"));
+        userModel.setCreationDate(rs.getObject("creation_date", LocalDateTime.class));
+        userModel.setLastUpdateDate(rs.getObject("last_update_date", LocalDateTime.class));
+        return userModel;
+    };
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public UserUpdateRepository(NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    public Optional<UserModel> update(UUID userId, Map<String, Object> columns) {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("At least one column must be updated");
+        }
+        // only the given columns are written and RETURNING hands back the row, so no read precedes or follows the update
+        var parameters = new MapSqlParameterSource("userId", userId);
+        var assignments = new StringJoiner(", ");
+        columns.forEach((column, value) -> {
+            if (!UPDATABLE_COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Column is not updatable: " + column);
+            }
+            assignments.add(column + " = :" + column);
+            parameters.addValue(column, value instanceof Enum ? ((Enum<?>) value).name() : value);
+        });
+        String sql = "UPDATE tb_users SET " + assignments + " WHERE user_id = :userId RETURNING *";
+        return namedParameterJdbcTemplate.query(sql, parameters, USER_MAPPER).stream().findFirst();
+    }
+}
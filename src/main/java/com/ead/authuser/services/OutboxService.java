@@ -0,0 +1,10 @@
+package com.ead.authuser.services;
+
+import java.util.UUID;
+
+public interface OutboxService {
+
+    void enqueueUserDeleted(UUID userId);
+
+    int dispatch();
+}
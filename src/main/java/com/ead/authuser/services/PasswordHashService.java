@@ -0,0 +1,14 @@
+package com.ead.authuser.services;
+
+import com.ead.authuser.dtos.PasswordVerificationDto;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface PasswordHashService {
+
+    CompletableFuture<String> hash(String rawPassword);
+
+    CompletableFuture<String> hashWithCallerRuns(String rawPassword);
+
+    CompletableFuture<PasswordVerificationDto> verify(String rawPassword, String encodedPassword, boolean rehash);
+}
@@ -0,0 +1,8 @@
+package com.ead.authuser.services;
+
+public interface SignupFilterService {
+
+    boolean mightBeTaken(String username, String email);
+
+    void register(String username, String email);
+}
@@ -0,0 +1,16 @@
+package com.ead.authuser.services;
+
+import com.ead.authuser.models.UserModel;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+public interface UserCacheService {
+
+    Optional<UserModel> get(UUID userId, Function<UUID, Optional<UserModel>> loader);
+
+    Optional<UserModel> getIfPresent(UUID userId);
+
+    void evict(UUID userId);
+}
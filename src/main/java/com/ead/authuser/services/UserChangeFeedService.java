@@ -0,0 +1,14 @@
+package com.ead.authuser.services;
+
+import com.ead.authuser.dtos.CursorPageDto;
+import com.ead.authuser.dtos.UserChangeDto;
+import com.ead.authuser.specifications.ChangeFeedCursor;
+
+public interface UserChangeFeedService {
+
+    CursorPageDto<UserChangeDto> findChanges(ChangeFeedCursor cursor, int size);
+
+    boolean isBeyondRetention(ChangeFeedCursor cursor);
+
+    int purgeTombstones();
+}
@@ -1,8 +1,12 @@
 package com.ead.authuser.services;
 
+import com.ead.authuser.dtos.DeletionJobDto;
+import com.ead.authuser.dtos.SubscriptionBatchResultDto;
 import com.ead.authuser.models.UserCourseModel;
 import com.ead.authuser.models.UserModel;
 
+import java.util.Collection;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface UserCourseService {
@@ -10,7 +14,17 @@ public interface UserCourseService {
 
     UserCourseModel save(UserCourseModel userCourseModel);
 
+    Optional<UserCourseModel> subscribe(UserModel userModel, UUID courseId);
+
     boolean existsByCourseId(UUID courseId);
 
-    void deleteUserCourseByCourse(UUID courseId);
+    long deleteUserCourseByCourse(UUID courseId);
+
+    DeletionJobDto deleteUserCourseByCourseAsync(UUID courseId);
+
+    Optional<DeletionJobDto> findDeletionJob(UUID jobId);
+
+    SubscriptionBatchResultDto subscribeUsersInCourse(UUID courseId, Collection<UUID> userIds);
+
+    SubscriptionBatchResultDto subscribeUserInCourses(UserModel userModel, Collection<UUID> courseIds);
 }
@@ -0,0 +1,13 @@
+package com.ead.authuser.services;
+
+import com.ead.authuser.enums.ExportFormat;
+import com.ead.authuser.models.UserModel;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface UserExportService {
+
+    long export(Specification<UserModel> spec, ExportFormat format, OutputStream out) throws IOException;
+}
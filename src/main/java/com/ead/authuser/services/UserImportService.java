@@ -0,0 +1,15 @@
+package com.ead.authuser.services;
+
+import com.ead.authuser.dtos.UserDto;
+import com.ead.authuser.dtos.UserImportResultDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+public interface UserImportService {
+
+    List<UserImportResultDto> importUsers(List<UserDto> users);
+
+    List<UserImportResultDto> importUsersFromCsv(InputStream csv) throws IOException;
+}
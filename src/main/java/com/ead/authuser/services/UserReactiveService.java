@@ -0,0 +1,15 @@
+package com.ead.authuser.services;
+
+import com.ead.authuser.dtos.UserFilterDto;
+import com.ead.authuser.dtos.UserSummaryDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public interface UserReactiveService {
+
+    Mono<UserSummaryDto> findById(UUID userId);
+
+    Flux<UserSummaryDto> findAll(UserFilterDto filter, int limit);
+}
@@ -1,24 +1,65 @@
 package com.ead.authuser.services;
 
+import com.ead.authuser.dtos.PasswordVerificationDto;
+import com.ead.authuser.dtos.UserDto;
+import com.ead.authuser.dtos.UserSummaryDto;
+import com.ead.authuser.dtos.UserVersionDto;
+import com.ead.authuser.enums.PageCountMode;
+import com.ead.authuser.enums.SignupConflict;
+import com.ead.authuser.enums.UserType;
 import com.ead.authuser.models.UserModel;
+import com.ead.authuser.specifications.UserKeyset;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public interface UserService {
 
     Page<UserModel> findAll(Specification<UserModel> spec, Pageable pageable);
 
+    Slice<UserModel> findAll(Specification<UserModel> spec, UUID courseId, Pageable pageable, PageCountMode countMode);
+
+    Slice<UserSummaryDto> findAllSummaries(Specification<UserModel> spec, UUID courseId, Pageable pageable, PageCountMode countMode);
+
+    Slice<UserModel> findAll(Specification<UserModel> spec, Pageable pageable, long total);
+
+    Slice<UserSummaryDto> findAllSummaries(Specification<UserModel> spec, Pageable pageable, long total);
+
+    Slice<UserModel> findAllByKeyset(Specification<UserModel> spec, UserKeyset keyset, int size);
+
     Optional<UserModel> findById(UUID id);
 
+    Optional<LocalDateTime> findLastUpdateDate(UUID id);
+
+    UserVersionDto findVersion(Specification<UserModel> spec);
+
     void deleteUser(UserModel userModel);
 
-    void save(UserModel userModel);
+    Optional<UserModel> updateProfile(UUID userId, UserDto userDto);
+
+    Optional<UserModel> patchProfile(UUID userId, UserDto userDto);
+
+    Optional<UserModel> updatePassword(UUID userId, String encodedPassword);
+
+    Optional<UserModel> updateImage(UUID userId, String imageUrl);
+
+    Optional<UserModel> updateUserType(UUID userId, UserType userType);
 
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    Optional<SignupConflict> findSignupConflict(String username, String email);
+
+    Optional<SignupConflict> registerUser(UserModel userModel);
+
+    CompletableFuture<PasswordVerificationDto> checkPassword(UserModel userModel, String rawPassword, boolean rehash);
+
+    void saveRehashedPassword(UUID userId, String rehashedPassword);
 }
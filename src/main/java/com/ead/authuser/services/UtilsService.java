@@ -1,10 +1,16 @@
 package com.ead.authuser.services;
 
+import com.ead.authuser.dtos.UserVersionDto;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 public interface UtilsService {
 
     String createUrl(UUID userId, Pageable pageable);
+
+    String createETag(UUID userId, LocalDateTime lastUpdateDate);
+
+    String createWeakETag(UserVersionDto version, String queryString);
 }
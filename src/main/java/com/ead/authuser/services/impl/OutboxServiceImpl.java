@@ -0,0 +1,127 @@
+package com.ead.authuser.services.impl;
+
+import com.ead.authuser.clients.CourseClient;
+import com.ead.authuser.enums.OutboxEventType;
+import com.ead.authuser.models.OutboxEventModel;
+import com.ead.authuser.repositories.OutboxEventRepository;
+import com.ead.authuser.services.OutboxService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Log4j2
+@Service
+public class OutboxServiceImpl implements OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final CourseClient courseClient;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    public OutboxServiceImpl(OutboxEventRepository outboxEventRepository,
+                             CourseClient courseClient,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${ead.outbox.batch-size}") int batchSize,
+                             @Value("${ead.outbox.lease}") Duration lease,
+                             @Value("${ead.outbox.initial-backoff}") Duration initialBackoff,
+                             @Value("${ead.outbox.max-backoff}") Duration maxBackoff) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.courseClient = courseClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void enqueueUserDeleted(UUID userId) {
+        var event = new OutboxEventModel();
+        event.setEventType(OutboxEventType.USER_DELETED);
+        event.setAggregateId(userId);
+        event.setCreationDate(LocalDateTime.now(ZoneId.of("UTC")));
+        event.setNextAttemptDate(event.getCreationDate());
+        outboxEventRepository.save(event);
+    }
+
+    @Scheduled(fixedDelayString = "${ead.outbox.dispatch-interval}")
+    @Override
+    public int dispatch() {
+        // claim a batch by pushing its next attempt past the lease, so no connection is held during the remote calls
+        List<OutboxEventModel> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now(ZoneId.of("UTC"));
+            List<OutboxEventModel> due = outboxEventRepository.findDueForUpdate(now, batchSize);
+            due.forEach(event -> event.setNextAttemptDate(now.plus(lease)));
+            return outboxEventRepository.saveAll(due);
+        });
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<OutboxEventModel> delivered = new ArrayList<>();
+        List<OutboxEventModel> failed = new ArrayList<>();
+        try {
+            for (OutboxEventModel event : claimed) {
+                try {
+                    send(event);
+                    delivered.add(event);
+                } catch (RuntimeException e) {
+                    // load balancer and serialization failures count as attempts too, not only HTTP errors
+                    event.setAttempts(event.getAttempts() + 1);
+                    event.setNextAttemptDate(LocalDateTime.now(ZoneId.of("UTC")).plus(backoff(event.getAttempts())));
+                    event.setLastError(abbreviate(e.getMessage()));
+                    failed.add(event);
+                    log.warn("Outbox event {} for aggregateId {} failed, attempt {}: {}",
+                            event.getEventType(), event.getAggregateId(), event.getAttempts(), e.getMessage());
+                }
+            }
+        } finally {
+            // whatever was sent before an abort is settled, so it is not redelivered once the lease expires
+            transactionTemplate.executeWithoutResult(status -> {
+                outboxEventRepository.deleteAllInBatch(delivered);
+                outboxEventRepository.saveAll(failed);
+            });
+        }
+        log.debug("Outbox dispatched {} events, {} failed", delivered.size(), failed.size());
+        return delivered.size();
+    }
+
+    private void send(OutboxEventModel event) {
+        if (event.getEventType() == OutboxEventType.USER_DELETED) {
+            try {
+                courseClient.deleteUserInCourse(event.getAggregateId());
+            } catch (HttpClientErrorException.NotFound e) {
+                log.debug("Course service has no subscriptions for userId {}", event.getAggregateId());
+            }
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    private String abbreviate(String message) {
+        if (message == null || message.length() <= 500) {
+            return message;
+        }
+        return message.substring(0, 500);
+    }
+}
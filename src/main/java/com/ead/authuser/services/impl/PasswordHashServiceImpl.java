@@ -0,0 +1,60 @@
+package com.ead.authuser.services.impl;
+
+import com.ead.authuser.dtos.PasswordVerificationDto;
+import com.ead.authuser.services.PasswordHashService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+public class PasswordHashServiceImpl implements PasswordHashService {
+
+    private static final String BCRYPT = "bcrypt";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor passwordHashExecutor;
+
+    @SuppressWarnings("deprecation")
+    public PasswordHashServiceImpl(ThreadPoolTaskExecutor passwordHashExecutor,
+                                   @Value("${ead.password.bcrypt-strength}") int strength) {
+        var encoder = new DelegatingPasswordEncoder(BCRYPT, Map.of(BCRYPT, new BCryptPasswordEncoder(strength)));
+        // rows written before hashing hold the raw password without an {id} prefix, upgradeEncoding flags them
+        encoder.setDefaultPasswordEncoderForMatches(NoOpPasswordEncoder.getInstance());
+        this.passwordEncoder = encoder;
+        this.passwordHashExecutor = passwordHashExecutor;
+    }
+
+    @Override
+    public CompletableFuture<String> hash(String rawPassword) {
+        return CompletableFuture.supplyAsync(() -> passwordEncoder.encode(rawPassword), passwordHashExecutor);
+    }
+
+    @Override
+    public CompletableFuture<String> hashWithCallerRuns(String rawPassword) {
+        try {
+            return hash(rawPassword);
+        } catch (TaskRejectedException e) {
+            // a full queue slows the submitting thread down instead of failing the work it already started
+            return CompletableFuture.completedFuture(passwordEncoder.encode(rawPassword));
+        }
+    }
+
+    @Override
+    public CompletableFuture<PasswordVerificationDto> verify(String rawPassword, String encodedPassword, boolean rehash) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (!passwordEncoder.matches(rawPassword, encodedPassword)) {
+                return new PasswordVerificationDto(false, null);
+            }
+            String rehashed = rehash && passwordEncoder.upgradeEncoding(encodedPassword) ? passwordEncoder.encode(rawPassword) : null;
+            return new PasswordVerificationDto(true, rehashed);
+        }, passwordHashExecutor);
+    }
+}
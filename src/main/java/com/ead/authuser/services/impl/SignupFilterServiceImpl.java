@@ -0,0 +1,78 @@
+package com.ead.authuser.services.impl;
+
+import com.ead.authuser.services.SignupFilterService;
+import com.ead.authuser.utils.BloomFilter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+@Log4j2
+@Service
+public class SignupFilterServiceImpl implements SignupFilterService {
+
+    private static final int FETCH_SIZE = 5000;
+    private static final double GROWTH_FACTOR = 1.5;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter usernames;
+    private volatile BloomFilter emails;
+
+    public SignupFilterServiceImpl(DataSource dataSource,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${ead.signup.filter.false-positive-rate}") double falsePositiveRate) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @Override
+    public boolean mightBeTaken(String username, String email) {
+        BloomFilter currentUsernames = usernames;
+        BloomFilter currentEmails = emails;
+        if (currentUsernames == null || currentEmails == null) {
+            return true;
+        }
+        return currentUsernames.mightContain(username) || currentEmails.mightContain(email);
+    }
+
+    @Override
+    public void register(String username, String email) {
+        BloomFilter currentUsernames = usernames;
+        BloomFilter currentEmails = emails;
+        if (currentUsernames != null && currentEmails != null) {
+            currentUsernames.put(username);
+            currentEmails.put(email);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ead.signup.filter.rebuild-interval}")
+    public void rebuild() {
+        Long total = jdbcTemplate.queryForObject("SELECT count(*) FROM tb_users", Long.class);
+        long expectedInsertions = (long) ((total == null ? 0 : total) * GROWTH_FACTOR);
+        BloomFilter rebuiltUsernames = new BloomFilter(expectedInsertions, falsePositiveRate);
+        BloomFilter rebuiltEmails = new BloomFilter(expectedInsertions, falsePositiveRate);
+
+        // a read-only transaction lets the driver stream the rows through a cursor instead of buffering them
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.query("SELECT username, email FROM tb_users", (RowCallbackHandler) rs -> {
+                    rebuiltUsernames.put(rs.getString(1));
+                    rebuiltEmails.put(rs.getString(2));
+                }));
+
+        usernames = rebuiltUsernames;
+        emails = rebuiltEmails;
+        log.debug("Signup filter rebuilt for {} users", total);
+    }
+}
@@ -0,0 +1,137 @@
+package com.ead.authuser.services.impl;
+
+import com.ead.authuser.models.UserModel;
+import com.ead.authuser.services.UserCacheService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.log4j.Log4j2;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+@Log4j2
+@Service
+public class UserCacheServiceImpl implements UserCacheService {
+
+    private static final int POLL_TIMEOUT_MILLIS = 5000;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    private final Cache<UUID, UserModel> cache;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final String channel;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public UserCacheServiceImpl(JdbcTemplate jdbcTemplate,
+                                DataSourceProperties dataSourceProperties,
+                                MeterRegistry meterRegistry,
+                                @Value("${ead.cache.users.maximum-size}") long maximumSize,
+                                @Value("${ead.cache.users.ttl}") Duration ttl,
+                                @Value("${ead.cache.users.channel}") String channel) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.channel = channel;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    @Override
+    public Optional<UserModel> get(UUID userId, Function<UUID, Optional<UserModel>> loader) {
+        // the load runs inside the cache's compute, so an evict issued meanwhile waits for it and then drops the result
+        UserModel cached = cache.get(userId, id -> loader.apply(id).map(this::copyOf).orElse(null));
+        return Optional.ofNullable(cached).map(this::copyOf);
+    }
+
+    @Override
+    public Optional<UserModel> getIfPresent(UUID userId) {
+        return Optional.ofNullable(cache.getIfPresent(userId)).map(this::copyOf);
+    }
+
+    @Override
+    public void evict(UUID userId) {
+        cache.invalidate(userId);
+        // inside a transaction the notification is only delivered to the other nodes on commit
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", (RowCallbackHandler) rs -> { }, channel, userId.toString());
+    }
+
+    @PostConstruct
+    public void startListener() {
+        running = true;
+        listenerThread = new Thread(this::listen, "user-cache-invalidation");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stopListener() {
+        running = false;
+        listenerThread.interrupt();
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                // notifications sent while disconnected are lost, so start from a clean cache
+                cache.invalidateAll();
+                log.info("User cache listening for invalidations on channel {}", channel);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            cache.invalidate(UUID.fromString(notification.getParameter()));
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("User cache invalidation listener disconnected, retrying: {}", e.getMessage());
+                cache.invalidateAll();
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private UserModel copyOf(UserModel source) {
+        // callers mutate and save the returned model, so the cached instance is never handed out
+        var copy = new UserModel();
+        BeanUtils.copyProperties(source, copy, "userCourses");
+        return copy;
+    }
+}
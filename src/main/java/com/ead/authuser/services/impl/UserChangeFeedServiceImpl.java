@@ -0,0 +1,85 @@
+package com.ead.authuser.services.impl;
+
+import com.ead.authuser.dtos.CursorPageDto;
+import com.ead.authuser.dtos.UserChangeDto;
+import com.ead.authuser.repositories.UserChangeRepository;
+import com.ead.authuser.repositories.UserTombstoneRepository;
+import com.ead.authuser.services.UserChangeFeedService;
+import com.ead.authuser.specifications.ChangeFeedCursor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+@Log4j2
+@Service
+public class UserChangeFeedServiceImpl implements UserChangeFeedService {
+
+    private final UserChangeRepository userChangeRepository;
+    private final UserTombstoneRepository userTombstoneRepository;
+    private final Duration safetyLag;
+    private final Duration tombstoneRetention;
+    private final int maxSize;
+
+    public UserChangeFeedServiceImpl(UserChangeRepository userChangeRepository,
+                                     UserTombstoneRepository userTombstoneRepository,
+                                     @Value("${ead.change-feed.safety-lag}") Duration safetyLag,
+                                     @Value("${ead.change-feed.tombstone-retention}") Duration tombstoneRetention,
+                                     @Value("${ead.change-feed.max-size}") int maxSize) {
+        this.userChangeRepository = userChangeRepository;
+        this.userTombstoneRepository = userTombstoneRepository;
+        this.safetyLag = safetyLag;
+        this.tombstoneRetention = tombstoneRetention;
+        this.maxSize = maxSize;
+    }
+
+    // not read-only on purpose: replica lag would let rows commit behind a cursor already handed out
+    @Transactional
+    @Override
+    public CursorPageDto<UserChangeDto> findChanges(ChangeFeedCursor cursor, int size) {
+        int limit = Math.max(1, Math.min(size, maxSize));
+        // lastUpdateDate is stamped before commit, rows newer than the lag may still become visible behind the cursor
+        LocalDateTime until = LocalDateTime.now(ZoneId.of("UTC")).minus(safetyLag);
+
+        List<UserChangeDto> changes = new ArrayList<>(userChangeRepository.findChanges(cursor, until, limit + 1));
+        boolean hasNext = changes.size() > limit;
+        if (hasNext) {
+            changes.remove(changes.size() - 1);
+        }
+
+        ChangeFeedCursor next = cursor;
+        if (!changes.isEmpty()) {
+            UserChangeDto last = changes.get(changes.size() - 1);
+            next = next.advance(last.getChangeDate(), last.getUserId());
+        }
+        if (!hasNext) {
+            // the whole feed up to until has been delivered, deletions the consumer still needs can only come later
+            next = next.caughtUpTo(until);
+        }
+        return new CursorPageDto<>(changes, changes.size(), hasNext, next.encode());
+    }
+
+    @Override
+    public boolean isBeyondRetention(ChangeFeedCursor cursor) {
+        // tombstones are purged by deletion date, so only ones the consumer has not seen can be gone
+        return cursor.getWatermark().isBefore(LocalDateTime.now(ZoneId.of("UTC")).minus(tombstoneRetention));
+    }
+
+    @Scheduled(fixedDelayString = "${ead.change-feed.cleanup-interval}")
+    @Transactional
+    @Override
+    public int purgeTombstones() {
+        int purged = userTombstoneRepository.deleteAllDeletedBefore(LocalDateTime.now(ZoneId.of("UTC")).minus(tombstoneRetention));
+        if (purged > 0) {
+            log.info("Purged {} user tombstones older than {}", purged, tombstoneRetention);
+        }
+        return purged;
+    }
+}
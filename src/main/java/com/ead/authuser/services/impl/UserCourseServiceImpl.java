@@ -1,21 +1,68 @@
 package com.ead.authuser.services.impl;
 
+import com.ead.authuser.dtos.DeletionJobDto;
+import com.ead.authuser.dtos.SubscriptionBatchResultDto;
+import com.ead.authuser.enums.JobStatus;
 import com.ead.authuser.models.UserCourseModel;
 import com.ead.authuser.models.UserModel;
 import com.ead.authuser.repositories.UserCourseRepository;
+import com.ead.authuser.repositories.UserRepository;
 import com.ead.authuser.services.UserCourseService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
+@Log4j2
 @Service
 public class UserCourseServiceImpl implements UserCourseService {
 
+    private static final String INSERT_IF_ABSENT = "INSERT INTO tb_users_courses (id, user_user_id, course_id) " +
+            "SELECT * FROM unnest(?::uuid[], ?::uuid[], ?::uuid[]) " +
+            "ON CONFLICT (user_user_id, course_id) DO NOTHING RETURNING id";
+
     private final UserCourseRepository userCourseRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor userCourseDeletionExecutor;
+    private final Cache<UUID, DeletionJobDto> deletionJobs;
+    private final int batchSize;
+    private final int deleteChunkSize;
 
-    public UserCourseServiceImpl(UserCourseRepository userCourseRepository) {
+    public UserCourseServiceImpl(UserCourseRepository userCourseRepository, UserRepository userRepository, JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 ThreadPoolTaskExecutor userCourseDeletionExecutor,
+                                 @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}") int batchSize,
+                                 @Value("${ead.user-course.deletion.chunk-size}") int deleteChunkSize,
+                                 @Value("${ead.user-course.deletion.job-retention}") Duration jobRetention) {
         this.userCourseRepository = userCourseRepository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userCourseDeletionExecutor = userCourseDeletionExecutor;
+        this.deletionJobs = Caffeine.newBuilder().expireAfterWrite(jobRetention).build();
+        this.batchSize = batchSize;
+        this.deleteChunkSize = deleteChunkSize;
     }
 
     @Override
@@ -28,14 +75,126 @@ public class UserCourseServiceImpl implements UserCourseService {
         return userCourseRepository.save(userCourseModel);
     }
 
+    @Transactional
+    @Override
+    public Optional<UserCourseModel> subscribe(UserModel userModel, UUID courseId) {
+        var id = UUID.randomUUID();
+        if (userCourseRepository.insertIfAbsent(id, userModel.getUserId(), courseId) == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new UserCourseModel(id, userModel, courseId));
+    }
+
     @Override
     public boolean existsByCourseId(UUID courseId) {
         return userCourseRepository.existsByCourseId(courseId);
     }
 
+    @Override
+    public long deleteUserCourseByCourse(UUID courseId) {
+        // each chunk commits on its own so locks and undo are bounded by the chunk size, not the course size
+        long deletedRows = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> userCourseRepository.deleteChunkByCourseId(courseId, deleteChunkSize));
+            deletedRows += deleted;
+        } while (deleted == deleteChunkSize);
+        return deletedRows;
+    }
+
+    @Override
+    public DeletionJobDto deleteUserCourseByCourseAsync(UUID courseId) {
+        var job = new DeletionJobDto(UUID.randomUUID(), courseId, LocalDateTime.now(ZoneId.of("UTC")));
+        job.setStatus(JobStatus.RUNNING);
+        userCourseDeletionExecutor.execute(() -> {
+            try {
+                job.setDeletedRows(deleteUserCourseByCourse(courseId));
+                job.setStatus(JobStatus.COMPLETED);
+            } catch (RuntimeException e) {
+                log.error("Deletion job {} for courseId {} failed", job.getJobId(), courseId, e);
+                job.setError(e.getMessage());
+                job.setStatus(JobStatus.FAILED);
+            }
+            job.setEndDate(LocalDateTime.now(ZoneId.of("UTC")));
+        });
+        deletionJobs.put(job.getJobId(), job);
+        return job;
+    }
+
+    @Override
+    public Optional<DeletionJobDto> findDeletionJob(UUID jobId) {
+        return Optional.ofNullable(deletionJobs.getIfPresent(jobId));
+    }
+
+    @Transactional
+    @Override
+    public SubscriptionBatchResultDto subscribeUsersInCourse(UUID courseId, Collection<UUID> userIds) {
+        Set<UUID> requested = new LinkedHashSet<>(userIds);
+        Set<UUID> existing = new HashSet<>(userRepository.findExistingUserIds(requested));
+        Set<UUID> alreadySubscribed = new HashSet<>(userCourseRepository.findSubscribedUserIds(courseId, requested));
+
+        var result = new SubscriptionBatchResultDto();
+        List<UUID[]> pending = new ArrayList<>();
+        for (UUID userId : requested) {
+            if (!existing.contains(userId)) {
+                result.getNotFound().add(userId);
+            } else if (alreadySubscribed.contains(userId)) {
+                result.getAlreadySubscribed().add(userId);
+            } else {
+                pending.add(new UUID[]{UUID.randomUUID(), userId, courseId});
+            }
+        }
+        Set<UUID> inserted = insertInBatches(pending);
+        for (UUID[] row : pending) {
+            (inserted.contains(row[0]) ? result.getSubscribed() : result.getAlreadySubscribed()).add(row[1]);
+        }
+        return result;
+    }
+
     @Transactional
     @Override
-    public void deleteUserCourseByCourse(UUID courseId) {
-        userCourseRepository.deleteAllByCourseId(courseId);
+    public SubscriptionBatchResultDto subscribeUserInCourses(UserModel userModel, Collection<UUID> courseIds) {
+        Set<UUID> requested = new LinkedHashSet<>(courseIds);
+        Set<UUID> alreadySubscribed = new HashSet<>(userCourseRepository.findSubscribedCourseIds(userModel.getUserId(), requested));
+
+        var result = new SubscriptionBatchResultDto();
+        List<UUID[]> pending = new ArrayList<>();
+        for (UUID courseId : requested) {
+            if (alreadySubscribed.contains(courseId)) {
+                result.getAlreadySubscribed().add(courseId);
+            } else {
+                pending.add(new UUID[]{UUID.randomUUID(), userModel.getUserId(), courseId});
+            }
+        }
+        Set<UUID> inserted = insertInBatches(pending);
+        for (UUID[] row : pending) {
+            (inserted.contains(row[0]) ? result.getSubscribed() : result.getAlreadySubscribed()).add(row[2]);
+        }
+        return result;
+    }
+
+    private Set<UUID> insertInBatches(List<UUID[]> rows) {
+        // ON CONFLICT keeps a concurrent enrollment of the same pair from failing the whole batch, RETURNING tells
+        // which rows were really inserted since rewritten JDBC batches do not report per-row update counts
+        Set<UUID> inserted = new HashSet<>();
+        for (int start = 0; start < rows.size(); start += batchSize) {
+            List<UUID[]> chunk = rows.subList(start, Math.min(start + batchSize, rows.size()));
+            inserted.addAll(jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(INSERT_IF_ABSENT);
+                for (int column = 0; column < 3; column++) {
+                    statement.setArray(column + 1, connection.createArrayOf("uuid", column(chunk, column)));
+                }
+                return statement;
+            }, (rs, rowNum) -> rs.getObject(1, UUID.class)));
+        }
+        return inserted;
+    }
+
+    private Object[] column(List<UUID[]> rows, int column) {
+        Object[] values = new Object[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            values[i] = rows.get(i)[column];
+        }
+        return values;
     }
 }
@@ -0,0 +1,109 @@
+package com.ead.authuser.services.impl;
+
+import com.ead.authuser.dtos.UserSummaryDto;
+import com.ead.authuser.enums.ExportFormat;
+import com.ead.authuser.models.UserModel;
+import com.ead.authuser.repositories.UserRepository;
+import com.ead.authuser.services.UserExportService;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Log4j2
+@Service
+public class UserExportServiceImpl implements UserExportService {
+
+    private static final String CSV_HEADER = "userId,username,email,fullname,userStatus,userType,phoneNumber,cpf,imageUrl,creationDate,lastUpdateDate";
+
+    @JsonIgnoreProperties("links")
+    private abstract static class WithoutLinks {
+    }
+
+    private final UserRepository userRepository;
+    private final ObjectWriter ndjsonWriter;
+    private final int fetchSize;
+
+    public UserExportServiceImpl(UserRepository userRepository, ObjectMapper objectMapper,
+                                 @Value("${ead.export.fetch-size}") int fetchSize) {
+        this.userRepository = userRepository;
+        this.ndjsonWriter = objectMapper.copy()
+                .addMixIn(UserSummaryDto.class, WithoutLinks.class)
+                .writerFor(UserSummaryDto.class);
+        this.fetchSize = fetchSize;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public long export(Specification<UserModel> spec, ExportFormat format, OutputStream out) throws IOException {
+        // rows come from a forward-only cursor and are written as they arrive, memory stays flat for any table size
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long rows = 0;
+        try (Stream<UserSummaryDto> users = userRepository.streamSummaries(spec, fetchSize)) {
+            Iterator<UserSummaryDto> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                UserSummaryDto user = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsv(writer, user);
+                } else {
+                    writer.write(ndjsonWriter.writeValueAsString(user));
+                    writer.write('\n');
+                }
+                if (++rows % fetchSize == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        log.info("User export finished, format: {}, rows: {}", format, rows);
+        return rows;
+    }
+
+    private void writeCsv(Writer writer, UserSummaryDto user) throws IOException {
+        writer.write(String.valueOf(user.getUserId()));
+        writeCsvValue(writer, user.getUsername());
+        writeCsvValue(writer, user.getEmail());
+        writeCsvValue(writer, user.getFullname());
+        writeCsvValue(writer, user.getUserStatus());
+        writeCsvValue(writer, user.getUserType());
+        writeCsvValue(writer, user.getPhoneNumber());
+        writeCsvValue(writer, user.getCpf());
+        writeCsvValue(writer, user.getImageUrl());
+        writeCsvValue(writer, user.getCreationDate());
+        writeCsvValue(writer, user.getLastUpdateDate());
+        writer.write('\n');
+    }
+
+    private void writeCsvValue(Writer writer, Object value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,254 @@
+package com.ead.authuser.services.impl;
+
+import com.ead.authuser.dtos.UserDto;
+import com.ead.authuser.dtos.UserImportResultDto;
+import com.ead.authuser.enums.ImportStatus;
+import com.ead.authuser.enums.SignupConflict;
+import com.ead.authuser.enums.UserStatus;
+import com.ead.authuser.enums.UserType;
+import com.ead.authuser.models.UserModel;
+import com.ead.authuser.repositories.UserRepository;
+import com.ead.authuser.services.PasswordHashService;
+import com.ead.authuser.services.SignupFilterService;
+import com.ead.authuser.services.UserImportService;
+import com.ead.authuser.services.UserService;
+import com.ead.authuser.utils.CsvRecordReader;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Log4j2
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final SignupFilterService signupFilterService;
+    private final PasswordHashService passwordHashService;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxRows;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public UserImportServiceImpl(UserRepository userRepository,
+                                 UserService userService,
+                                 SignupFilterService signupFilterService,
+                                 PasswordHashService passwordHashService,
+                                 Validator validator,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}") int batchSize,
+                                 @Value("${ead.import.max-rows}") int maxRows) {
+        this.userRepository = userRepository;
+        this.userService = userService;
+        this.signupFilterService = signupFilterService;
+        this.passwordHashService = passwordHashService;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+    }
+
+    @Override
+    public List<UserImportResultDto> importUsers(List<UserDto> users) {
+        if (users.size() > maxRows) {
+            throw new IllegalArgumentException("Import exceeds the limit of " + maxRows + " rows");
+        }
+
+        UserImportResultDto[] results = new UserImportResultDto[users.size()];
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            UserDto user = users.get(i);
+            if (user == null) {
+                results[i] = new UserImportResultDto(i + 1, null, null, ImportStatus.INVALID, "Empty row");
+                continue;
+            }
+            Set<ConstraintViolation<UserDto>> violations = validator.validate(user, UserDto.UserView.RegistrationPost.class);
+            if (!violations.isEmpty()) {
+                results[i] = result(i, user, ImportStatus.INVALID, describe(violations));
+            } else if (usernames.contains(user.getUsername())) {
+                results[i] = result(i, user, ImportStatus.DUPLICATE, "Username repeated in this import");
+            } else if (emails.contains(user.getEmail())) {
+                results[i] = result(i, user, ImportStatus.DUPLICATE, "Email repeated in this import");
+            } else {
+                usernames.add(user.getUsername());
+                emails.add(user.getEmail());
+                candidates.add(i);
+            }
+        }
+
+        Set<String> takenUsernames = findExisting(usernames, userRepository::findExistingUsernames);
+        Set<String> takenEmails = findExisting(emails, userRepository::findExistingEmails);
+
+        List<Integer> pendingRows = new ArrayList<>();
+        for (Integer i : candidates) {
+            UserDto user = users.get(i);
+            if (takenUsernames.contains(user.getUsername())) {
+                results[i] = result(i, user, ImportStatus.CONFLICT, "Username is already taken");
+            } else if (takenEmails.contains(user.getEmail())) {
+                results[i] = result(i, user, ImportStatus.CONFLICT, "Email is already taken");
+            } else {
+                pendingRows.add(i);
+            }
+        }
+
+        for (int start = 0; start < pendingRows.size(); start += batchSize) {
+            insertChunk(pendingRows.subList(start, Math.min(start + batchSize, pendingRows.size())), users, results);
+        }
+
+        long created = Arrays.stream(results).filter(result -> result.getStatus() == ImportStatus.CREATED).count();
+        log.info("Bulk import finished, rows: {}, created: {}", users.size(), created);
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public List<UserImportResultDto> importUsersFromCsv(InputStream csv) throws IOException {
+        var reader = new CsvRecordReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        List<String> columns = reader.readRecord();
+        if (columns == null) {
+            return List.of();
+        }
+
+        List<UserDto> users = new ArrayList<>();
+        List<String> values;
+        while ((values = reader.readRecord()) != null) {
+            if (values.size() == 1 && values.get(0).isBlank()) {
+                continue;
+            }
+            if (users.size() == maxRows) {
+                throw new IllegalArgumentException("Import exceeds the limit of " + maxRows + " rows");
+            }
+            var user = new UserDto();
+            for (int j = 0; j < Math.min(columns.size(), values.size()); j++) {
+                setCsvValue(user, columns.get(j).trim(), values.get(j).isEmpty() ? null : values.get(j));
+            }
+            users.add(user);
+        }
+        return importUsers(users);
+    }
+
+    private void insertChunk(List<Integer> rows, List<UserDto> users, UserImportResultDto[] results) {
+        // the chunk is hashed in parallel on the password pool before any connection is taken, rows the pool cannot
+        // queue are hashed by this thread so a busy pool throttles the import instead of aborting it halfway
+        List<String> passwords = rows.stream()
+                .map(i -> passwordHashService.hashWithCallerRuns(users.get(i).getPassword()))
+                .collect(Collectors.toList())
+                .stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList());
+        List<UserModel> userModels = new ArrayList<>();
+        for (int j = 0; j < rows.size(); j++) {
+            userModels.add(toUserModel(users.get(rows.get(j)), passwords.get(j)));
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> userRepository.saveAll(userModels));
+            for (int j = 0; j < rows.size(); j++) {
+                UserModel userModel = userModels.get(j);
+                signupFilterService.register(userModel.getUsername(), userModel.getEmail());
+                results[rows.get(j)] = new UserImportResultDto(rows.get(j) + 1, userModel.getUsername(),
+                        userModel.getUserId(), ImportStatus.CREATED, null);
+            }
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent signup took a username or email after the existence check, retry this chunk row by row
+            log.warn("Bulk import chunk rejected, retrying {} rows individually", rows.size());
+            entityManager.clear();
+            for (int j = 0; j < rows.size(); j++) {
+                int i = rows.get(j);
+                UserModel userModel = toUserModel(users.get(i), passwords.get(j));
+                Optional<SignupConflict> conflict = userService.registerUser(userModel);
+                results[i] = conflict
+                        .map(value -> result(i, users.get(i), ImportStatus.CONFLICT,
+                                value == SignupConflict.USERNAME ? "Username is already taken" : "Email is already taken"))
+                        .orElseGet(() -> new UserImportResultDto(i + 1, userModel.getUsername(), userModel.getUserId(),
+                                ImportStatus.CREATED, null));
+            }
+        } finally {
+            entityManager.clear();
+        }
+    }
+
+    private Set<String> findExisting(Collection<String> values, Function<Collection<String>, List<String>> query) {
+        List<String> all = new ArrayList<>(values);
+        Set<String> existing = new HashSet<>();
+        for (int start = 0; start < all.size(); start += batchSize) {
+            existing.addAll(query.apply(all.subList(start, Math.min(start + batchSize, all.size()))));
+        }
+        return existing;
+    }
+
+    private UserModel toUserModel(UserDto user, String password) {
+        var userModel = new UserModel();
+        BeanUtils.copyProperties(user, userModel);
+        userModel.setPassword(password);
+        userModel.setUserStatus(UserStatus.ACTIVE);
+        userModel.setUserType(UserType.STUDENT);
+        userModel.setCreationDate(LocalDateTime.now(ZoneId.of("UTC")));
+        userModel.setLastUpdateDate(LocalDateTime.now(ZoneId.of("UTC")));
+        return userModel;
+    }
+
+    private UserImportResultDto result(int index, UserDto user, ImportStatus status, String message) {
+        return new UserImportResultDto(index + 1, user.getUsername(), null, status, message);
+    }
+
+    private String describe(Set<ConstraintViolation<UserDto>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void setCsvValue(UserDto user, String column, String value) {
+        switch (column) {
+            case "username":
+                user.setUsername(value);
+                break;
+            case "email":
+                user.setEmail(value);
+                break;
+            case "password":
+                user.setPassword(value);
+                break;
+            case "fullname":
+                user.setFullname(value);
+                break;
+            case "phoneNumber":
+                user.setPhoneNumber(value);
+                break;
+            case "cpf":
+                user.setCpf(value);
+                break;
+            default:
+                break;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.ead.authuser.services.impl;
+
+import com.ead.authuser.dtos.UserFilterDto;
+import com.ead.authuser.dtos.UserSummaryDto;
+import com.ead.authuser.repositories.UserReactiveRepository;
+import com.ead.authuser.services.UserReactiveService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@Service
+public class UserReactiveServiceImpl implements UserReactiveService {
+
+    private final UserReactiveRepository userReactiveRepository;
+    private final int maxRows;
+    private final int fetchSize;
+
+    public UserReactiveServiceImpl(UserReactiveRepository userReactiveRepository,
+                                   @Value("${ead.reactive.users.max-rows}") int maxRows,
+                                   @Value("${ead.reactive.users.fetch-size}") int fetchSize) {
+        this.userReactiveRepository = userReactiveRepository;
+        this.maxRows = maxRows;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public Mono<UserSummaryDto> findById(UUID userId) {
+        return userReactiveRepository.findById(userId);
+    }
+
+    @Override
+    public Flux<UserSummaryDto> findAll(UserFilterDto filter, int limit) {
+        return userReactiveRepository.findAll(filter, Math.max(1, Math.min(limit, maxRows)), fetchSize);
+    }
+}
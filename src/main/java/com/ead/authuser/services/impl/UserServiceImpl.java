@@ -1,71 +1,283 @@
 package com.ead.authuser.services.impl;
 
-import com.ead.authuser.clients.CourseClient;
-import com.ead.authuser.models.UserCourseModel;
+import com.ead.authuser.dtos.PasswordVerificationDto;
+import com.ead.authuser.dtos.UserDto;
+import com.ead.authuser.dtos.UserSummaryDto;
+import com.ead.authuser.dtos.UserVersionDto;
+import com.ead.authuser.enums.PageCountMode;
+import com.ead.authuser.enums.SignupConflict;
+import com.ead.authuser.enums.UserType;
 import com.ead.authuser.models.UserModel;
+import com.ead.authuser.models.UserTombstoneModel;
 import com.ead.authuser.repositories.UserCourseRepository;
 import com.ead.authuser.repositories.UserRepository;
+import com.ead.authuser.repositories.UserTombstoneRepository;
+import com.ead.authuser.repositories.UserUpdateRepository;
+import com.ead.authuser.services.OutboxService;
+import com.ead.authuser.services.PasswordHashService;
+import com.ead.authuser.services.SignupFilterService;
+import com.ead.authuser.services.UserCacheService;
 import com.ead.authuser.services.UserService;
+import com.ead.authuser.specifications.SpecificationTemplate;
+import com.ead.authuser.specifications.UserKeyset;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserCourseRepository userCourseRepository;
-    private final CourseClient courseClient;
+    private final UserTombstoneRepository userTombstoneRepository;
+    private final UserUpdateRepository userUpdateRepository;
+    private final OutboxService outboxService;
+    private final UserCacheService userCacheService;
+    private final SignupFilterService signupFilterService;
+    private final PasswordHashService passwordHashService;
 
-    public UserServiceImpl(UserRepository userRepository, UserCourseRepository userCourseRepository, CourseClient courseClient) {
+    public UserServiceImpl(UserRepository userRepository, UserCourseRepository userCourseRepository,
+                           UserTombstoneRepository userTombstoneRepository, UserUpdateRepository userUpdateRepository,
+                           OutboxService outboxService,
+                           UserCacheService userCacheService, SignupFilterService signupFilterService,
+                           PasswordHashService passwordHashService) {
         this.userRepository = userRepository;
         this.userCourseRepository = userCourseRepository;
-        this.courseClient = courseClient;
+        this.userTombstoneRepository = userTombstoneRepository;
+        this.userUpdateRepository = userUpdateRepository;
+        this.outboxService = outboxService;
+        this.userCacheService = userCacheService;
+        this.signupFilterService = signupFilterService;
+        this.passwordHashService = passwordHashService;
     }
 
+    @Transactional(readOnly = true)
     @Override
     public Page<UserModel> findAll(Specification<UserModel> spec, Pageable pageable) {
         return userRepository.findAll(spec, pageable);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<UserModel> findAll(Specification<UserModel> spec, UUID courseId, Pageable pageable, PageCountMode countMode) {
+        Specification<UserModel> filter = withCourse(spec, courseId);
+        return withTotal(userRepository.findSlice(filter, pageable), filter, spec, courseId, pageable, countMode);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<UserSummaryDto> findAllSummaries(Specification<UserModel> spec, UUID courseId, Pageable pageable, PageCountMode countMode) {
+        Specification<UserModel> filter = withCourse(spec, courseId);
+        return withTotal(userRepository.findSummarySlice(filter, pageable), filter, spec, courseId, pageable, countMode);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<UserModel> findAll(Specification<UserModel> spec, Pageable pageable, long total) {
+        return new PageImpl<>(userRepository.findSlice(spec, pageable).getContent(), pageable, total);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<UserSummaryDto> findAllSummaries(Specification<UserModel> spec, Pageable pageable, long total) {
+        return new PageImpl<>(userRepository.findSummarySlice(spec, pageable).getContent(), pageable, total);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<UserModel> findAllByKeyset(Specification<UserModel> spec, UserKeyset keyset, int size) {
+        return userRepository.findSlice(SpecificationTemplate.keysetAfter(keyset).and(spec), PageRequest.of(0, size, keyset.toSort()));
+    }
+
+    // loads fill the user cache, a lagging replica would keep a pre-update copy cached until the ttl expires
+    @Transactional
     @Override
     public Optional<UserModel> findById(UUID id) {
-        return userRepository.findById(id);
+        return userCacheService.get(id, userRepository::findById);
     }
 
+    // an ETag read from a lagging replica would answer 304 for a user that has already changed
     @Transactional
     @Override
-    public void deleteUser(UserModel userModel) {
-        boolean deleteUserCourseInCourse = false;
-        List<UserCourseModel> userCourseModelList = userCourseRepository.findAllUserCourseIntoUser(userModel.getUserId());
-        if (!userCourseModelList.isEmpty()) {
-            userCourseRepository.deleteAll(userCourseModelList);
-            deleteUserCourseInCourse = true;
+    public Optional<LocalDateTime> findLastUpdateDate(UUID id) {
+        Optional<UserModel> cached = userCacheService.getIfPresent(id);
+        if (cached.isPresent()) {
+            return cached.map(UserModel::getLastUpdateDate);
         }
+        return userRepository.findLastUpdateDateById(id);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public UserVersionDto findVersion(Specification<UserModel> spec) {
+        return userRepository.findVersion(spec);
+    }
+
+    @Transactional
+    @Override
+    public void deleteUser(UserModel userModel) {
+        // subscriptions are removed in bulk, none of them has to be loaded just to be deleted
+        boolean deleteUserCourseInCourse = userCourseRepository.deleteAllByUserId(userModel.getUserId()) > 0;
         userRepository.delete(userModel);
+        userTombstoneRepository.save(new UserTombstoneModel(userModel.getUserId(), LocalDateTime.now(ZoneId.of("UTC"))));
+        userCacheService.evict(userModel.getUserId());
         if (deleteUserCourseInCourse) {
-            courseClient.deleteUserInCourse(userModel.getUserId());
+            outboxService.enqueueUserDeleted(userModel.getUserId());
         }
     }
 
     @Override
-    public void save(UserModel userModel) {
-        userRepository.save(userModel);
+    public Optional<UserModel> updateProfile(UUID userId, UserDto userDto) {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        columns.put("fullname", userDto.getFullname());
+        columns.put("phone_number", userDto.getPhoneNumber());
+        columns.put("cpf", userDto.getCpf());
+        return update(userId, columns);
     }
 
+    @Override
+    public Optional<UserModel> patchProfile(UUID userId, UserDto userDto) {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        putIfPresent(columns, "fullname", userDto.getFullname());
+        putIfPresent(columns, "phone_number", userDto.getPhoneNumber());
+        putIfPresent(columns, "cpf", userDto.getCpf());
+        putIfPresent(columns, "image_url", userDto.getImageUrl());
+        if (columns.isEmpty()) {
+            return findById(userId);
+        }
+        return update(userId, columns);
+    }
+
+    @Override
+    public Optional<UserModel> updatePassword(UUID userId, String encodedPassword) {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        columns.put("password", encodedPassword);
+        return update(userId, columns);
+    }
+
+    @Override
+    public Optional<UserModel> updateImage(UUID userId, String imageUrl) {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        columns.put("image_url", imageUrl);
+        return update(userId, columns);
+    }
+
+    @Override
+    public Optional<UserModel> updateUserType(UUID userId, UserType userType) {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        columns.put("user_type", userType);
+        return update(userId, columns);
+    }
+
+    @Transactional(readOnly = true)
     @Override
     public boolean existsByUsername(String username) {
         return userRepository.existsByUsername(username);
     }
 
+    @Transactional(readOnly = true)
     @Override
     public boolean existsByEmail(String email) {
         return userRepository.existsByEmail(email);
     }
+
+    @Override
+    public Optional<SignupConflict> findSignupConflict(String username, String email) {
+        if (!signupFilterService.mightBeTaken(username, email)) {
+            return Optional.empty();
+        }
+        return findSignupConflictInDatabase(username, email);
+    }
+
+    @Override
+    public Optional<SignupConflict> registerUser(UserModel userModel) {
+        try {
+            userRepository.save(userModel);
+        } catch (DataIntegrityViolationException e) {
+            // the filter can miss signups from other nodes since its last rebuild, the unique constraints catch those
+            Optional<SignupConflict> conflict = findSignupConflictInDatabase(userModel.getUsername(), userModel.getEmail());
+            if (conflict.isEmpty()) {
+                throw e;
+            }
+            return conflict;
+        }
+        signupFilterService.register(userModel.getUsername(), userModel.getEmail());
+        return Optional.empty();
+    }
+
+    @Override
+    public CompletableFuture<PasswordVerificationDto> checkPassword(UserModel userModel, String rawPassword, boolean rehash) {
+        // completes on the password pool, so storing a rehash is left to the caller and its own executor
+        return passwordHashService.verify(rawPassword, userModel.getPassword(), rehash);
+    }
+
+    @Override
+    public void saveRehashedPassword(UUID userId, String rehashedPassword) {
+        // the representation does not change, so lastUpdateDate and the ETag stay as they are
+        userUpdateRepository.update(userId, Map.of("password", rehashedPassword));
+        userCacheService.evict(userId);
+    }
+
+    private Optional<UserModel> update(UUID userId, Map<String, Object> columns) {
+        columns.put("last_update_date", LocalDateTime.now(ZoneId.of("UTC")));
+        Optional<UserModel> updated = userUpdateRepository.update(userId, columns);
+        updated.ifPresent(userModel -> userCacheService.evict(userId));
+        return updated;
+    }
+
+    private void putIfPresent(Map<String, Object> columns, String column, Object value) {
+        if (value != null) {
+            columns.put(column, value);
+        }
+    }
+
+    private Specification<UserModel> withCourse(Specification<UserModel> spec, UUID courseId) {
+        return courseId != null ? SpecificationTemplate.userCourseId(courseId).and(spec) : spec;
+    }
+
+    private <T> Slice<T> withTotal(Slice<T> slice, Specification<UserModel> filter, Specification<UserModel> spec,
+                                   UUID courseId, Pageable pageable, PageCountMode countMode) {
+        switch (countMode) {
+            case NONE:
+                return slice;
+            case ESTIMATED:
+                // planner estimates only cover the unfiltered and courseId-only shapes, filtered requests count exactly
+                if (spec == null) {
+                    long minimum = pageable.getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+                    long estimate = Math.max(userRepository.estimateCount(courseId), minimum);
+                    return new PageImpl<>(slice.getContent(), pageable, estimate);
+                }
+                return exactPage(slice, filter, pageable);
+            default:
+                return exactPage(slice, filter, pageable);
+        }
+    }
+
+    private <T> Slice<T> exactPage(Slice<T> slice, Specification<UserModel> filter, Pageable pageable) {
+        return PageableExecutionUtils.getPage(slice.getContent(), pageable, () -> userRepository.count(filter));
+    }
+
+    private Optional<SignupConflict> findSignupConflictInDatabase(String username, String email) {
+        List<String> takenBy = userRepository.findUsernamesTakenBy(username, email);
+        if (takenBy.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(takenBy.contains(username) ? SignupConflict.USERNAME : SignupConflict.EMAIL);
+    }
 }
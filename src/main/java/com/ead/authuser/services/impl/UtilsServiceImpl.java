@@ -1,10 +1,16 @@
 package com.ead.authuser.services.impl;
 
+import com.ead.authuser.dtos.UserVersionDto;
 import com.ead.authuser.services.UtilsService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
 import java.util.UUID;
 
 @Service
@@ -18,4 +24,21 @@ public class UtilsServiceImpl implements UtilsService {
         return "/api/v1/courses?userId=" + userId + "&page=" + pageable.getPageNumber() + "&size=" +
                 pageable.getPageSize() + "&sort=" + pageable.getSort().toString().replaceAll(": ", ",");
     }
+
+    @Override
+    public String createETag(UUID userId, LocalDateTime lastUpdateDate) {
+        return "\"" + userId + "-" + Long.toString(toEpochMicros(lastUpdateDate), 36) + "\"";
+    }
+
+    @Override
+    public String createWeakETag(UserVersionDto version, String queryString) {
+        long lastUpdate = version.getLastUpdateDate() != null ? toEpochMicros(version.getLastUpdateDate()) : 0;
+        return "W/\"" + version.getCount() + "-" + Long.toString(lastUpdate, 36) + "-" +
+                Integer.toHexString(Objects.hashCode(queryString)) + "\"";
+    }
+
+    private long toEpochMicros(LocalDateTime dateTime) {
+        // postgres stores microseconds, truncating keeps freshly saved and reloaded entities on the same tag
+        return ChronoUnit.MICROS.between(Instant.EPOCH, dateTime.toInstant(ZoneOffset.UTC));
+    }
 }
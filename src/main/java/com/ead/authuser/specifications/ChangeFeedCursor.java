@@ -0,0 +1,61 @@
+package com.ead.authuser.specifications;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.UUID;
+
+@Getter
+public class ChangeFeedCursor {
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final LocalDateTime changeDate;
+    private final UUID userId;
+    // every deletion the holder still has to see happened after this instant, so only the retention is checked against it
+    private final LocalDateTime watermark;
+
+    public ChangeFeedCursor(LocalDateTime changeDate, UUID userId, LocalDateTime watermark) {
+        this.changeDate = changeDate;
+        this.userId = userId;
+        this.watermark = watermark;
+    }
+
+    public static ChangeFeedCursor beginning() {
+        // a consumer starting over holds no users yet, deletions before now cannot concern it
+        return new ChangeFeedCursor(BEGINNING, new UUID(0L, 0L), LocalDateTime.now(ZoneId.of("UTC")));
+    }
+
+    public static ChangeFeedCursor since(LocalDateTime since) {
+        // postgres orders uuids bytewise, so the all-zero id sorts before every user changed at the watermark
+        return new ChangeFeedCursor(since, new UUID(0L, 0L), since);
+    }
+
+    public ChangeFeedCursor advance(LocalDateTime changeDate, UUID userId) {
+        return new ChangeFeedCursor(changeDate, userId, watermark);
+    }
+
+    public ChangeFeedCursor caughtUpTo(LocalDateTime until) {
+        return new ChangeFeedCursor(changeDate, userId, until);
+    }
+
+    public static ChangeFeedCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 3);
+            LocalDateTime changeDate = LocalDateTime.parse(parts[0]);
+            // cursors handed out before the watermark existed only know their last row
+            LocalDateTime watermark = parts.length > 2 ? LocalDateTime.parse(parts[2]) : changeDate;
+            return new ChangeFeedCursor(changeDate, UUID.fromString(parts[1]), watermark);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+
+    public String encode() {
+        String raw = changeDate + "|" + userId + "|" + watermark;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
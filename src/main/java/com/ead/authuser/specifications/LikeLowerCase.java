@@ -0,0 +1,22 @@
+package com.ead.authuser.specifications;
+
+import net.kaczmarzyk.spring.data.jpa.domain.Like;
+import net.kaczmarzyk.spring.data.jpa.utils.QueryContext;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+public class LikeLowerCase<T> extends Like<T> {
+
+    public LikeLowerCase(QueryContext queryContext, String path, String... args) {
+        super(queryContext, path, args);
+    }
+
+    @Override
+    public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        // lower() matches the expression of the trigram indexes, LikeIgnoreCase's upper() would bypass them
+        return cb.like(cb.lower(path(root)), pattern.toLowerCase());
+    }
+}
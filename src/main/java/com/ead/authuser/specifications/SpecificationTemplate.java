@@ -1,14 +1,17 @@
 package com.ead.authuser.specifications;
 
+import com.ead.authuser.enums.SearchMode;
 import com.ead.authuser.models.UserCourseModel;
 import com.ead.authuser.models.UserModel;
 import net.kaczmarzyk.spring.data.jpa.domain.Equal;
-import net.kaczmarzyk.spring.data.jpa.domain.Like;
 import net.kaczmarzyk.spring.data.jpa.web.annotation.And;
 import net.kaczmarzyk.spring.data.jpa.web.annotation.Spec;
 import org.springframework.data.jpa.domain.Specification;
 
 import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import java.util.Locale;
 import java.util.UUID;
 
 public class SpecificationTemplate {
@@ -16,8 +19,8 @@ public class SpecificationTemplate {
     @And({
         @Spec(path = "userType", spec = Equal.class),
         @Spec(path = "userStatus", spec = Equal.class),
-        @Spec(path = "email", spec = Like.class),
-        @Spec(path = "fullName", spec = Like.class)
+        @Spec(path = "email", spec = LikeLowerCase.class),
+        @Spec(path = "fullname", params = "fullName", spec = LikeLowerCase.class)
     })
     public interface UserSpec extends Specification<UserModel> {}
 
@@ -28,4 +31,58 @@ public class SpecificationTemplate {
             return cb.equal(userProd.get("courseId"), courseId);
         };
     }
+
+    public static Specification<UserModel> withSearch(Specification<UserModel> spec, String term, SearchMode mode) {
+        if (term == null || term.isBlank()) {
+            return spec;
+        }
+        return userSearch(term.strip(), mode).and(spec);
+    }
+
+    public static Specification<UserModel> userSearch(final String term, final SearchMode mode) {
+        return (root, query, cb) -> {
+            String pattern = searchPattern(term, mode);
+            return cb.or(
+                    cb.like(cb.lower(root.get("email")), pattern, '\\'),
+                    cb.like(cb.lower(root.get("fullname")), pattern, '\\'));
+        };
+    }
+
+    public static String searchPattern(String term, SearchMode mode) {
+        String escaped = term.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        switch (mode) {
+            case PREFIX:
+                return escaped + "%";
+            case EXACT:
+                return escaped;
+            default:
+                return "%" + escaped + "%";
+        }
+    }
+
+    public static Specification<UserModel> keysetAfter(final UserKeyset keyset) {
+        return (root, query, cb) -> {
+            if (keyset.isFirstPage()) {
+                return null;
+            }
+            boolean ascending = keyset.getDirection().isAscending();
+            Path<UUID> userId = root.get("userId");
+            Predicate afterUserId = ascending
+                    ? cb.greaterThan(userId, keyset.getLastUserId())
+                    : cb.lessThan(userId, keyset.getLastUserId());
+            if (keyset.getSortKey() == UserKeyset.SortKey.USER_ID) {
+                return afterUserId;
+            }
+
+            Path<Comparable<Object>> sortPath = root.get(keyset.getSortKey().getProperty());
+            Comparable<Object> lastValue = keyset.getTypedLastValue();
+            Predicate afterSortValue = ascending
+                    ? cb.greaterThan(sortPath, lastValue)
+                    : cb.lessThan(sortPath, lastValue);
+            return cb.or(afterSortValue, cb.and(cb.equal(sortPath, lastValue), afterUserId));
+        };
+    }
 }
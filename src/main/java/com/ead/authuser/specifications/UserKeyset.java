@@ -0,0 +1,111 @@
+package com.ead.authuser.specifications;
+
+import com.ead.authuser.models.UserModel;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.function.Function;
+
+@Getter
+public class UserKeyset {
+
+    private static final String SEPARATOR = "|";
+
+    public enum SortKey {
+        USER_ID("userId", UserModel::getUserId, UUID::fromString),
+        USERNAME("username", UserModel::getUsername, value -> value),
+        EMAIL("email", UserModel::getEmail, value -> value),
+        CREATION_DATE("creationDate", UserModel::getCreationDate, LocalDateTime::parse),
+        LAST_UPDATE_DATE("lastUpdateDate", UserModel::getLastUpdateDate, LocalDateTime::parse);
+
+        private final String property;
+        private final Function<UserModel, Comparable<?>> extractor;
+        private final Function<String, Comparable<?>> parser;
+
+        SortKey(String property, Function<UserModel, Comparable<?>> extractor, Function<String, Comparable<?>> parser) {
+            this.property = property;
+            this.extractor = extractor;
+            this.parser = parser;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+
+        public static SortKey of(String property) {
+            for (SortKey sortKey : values()) {
+                if (sortKey.property.equals(property)) {
+                    return sortKey;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported sort property for cursor pagination: " + property);
+        }
+    }
+
+    private final SortKey sortKey;
+    private final Sort.Direction direction;
+    private final String lastValue;
+    private final UUID lastUserId;
+
+    private UserKeyset(SortKey sortKey, Sort.Direction direction, String lastValue, UUID lastUserId) {
+        this.sortKey = sortKey;
+        this.direction = direction;
+        this.lastValue = lastValue;
+        this.lastUserId = lastUserId;
+    }
+
+    public static UserKeyset of(Sort sort) {
+        Iterator<Sort.Order> orders = sort.iterator();
+        if (!orders.hasNext()) {
+            return new UserKeyset(SortKey.USER_ID, Sort.Direction.ASC, null, null);
+        }
+        Sort.Order order = orders.next();
+        if (orders.hasNext()) {
+            throw new IllegalArgumentException("Cursor pagination supports a single sort property");
+        }
+        return new UserKeyset(SortKey.of(order.getProperty()), order.getDirection(), null, null);
+    }
+
+    public static UserKeyset decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 4);
+            SortKey sortKey = SortKey.of(parts[0]);
+            Sort.Direction direction = Sort.Direction.fromString(parts[1]);
+            UUID lastUserId = UUID.fromString(parts[2]);
+            sortKey.parser.apply(parts[3]);
+            return new UserKeyset(sortKey, direction, parts[3], lastUserId);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+
+    public UserKeyset after(UserModel last) {
+        return new UserKeyset(sortKey, direction, sortKey.extractor.apply(last).toString(), last.getUserId());
+    }
+
+    public String encode() {
+        String raw = sortKey.property + SEPARATOR + direction.name() + SEPARATOR + lastUserId + SEPARATOR + lastValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isFirstPage() {
+        return lastUserId == null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Comparable<Object> getTypedLastValue() {
+        return (Comparable<Object>) sortKey.parser.apply(lastValue);
+    }
+
+    public Sort toSort() {
+        if (sortKey == SortKey.USER_ID) {
+            return Sort.by(direction, sortKey.property);
+        }
+        return Sort.by(direction, sortKey.property, SortKey.USER_ID.property);
+    }
+}
@@ -0,0 +1,73 @@
+package com.ead.authuser.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CsvRecordReader {
+
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private int lookahead = NONE;
+
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+    }
+
+    // a record ends at an unquoted line break, quoted fields may span several lines
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    int next = read();
+                    if (next != '"') {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                }
+                current.append((char) c);
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c == '\r') {
+                int next = read();
+                if (next != '\n') {
+                    lookahead = next;
+                }
+                break;
+            } else {
+                current.append((char) c);
+            }
+            c = read();
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field in CSV record " + values.size());
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private int read() throws IOException {
+        if (lookahead != NONE) {
+            int c = lookahead;
+            lookahead = NONE;
+            return c;
+        }
+        return reader.read();
+    }
+}
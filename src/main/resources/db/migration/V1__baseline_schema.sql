@@ -0,0 +1,36 @@
+CREATE TABLE IF NOT EXISTS tb_users (
+    user_id          uuid         NOT NULL,
+    cpf              varchar(20),
+    creation_date    timestamp    NOT NULL,
+    email            varchar(50)  NOT NULL,
+    fullname         varchar(150) NOT NULL,
+    image_url        varchar(255),
+    last_update_date timestamp    NOT NULL,
+    password         varchar(255) NOT NULL,
+    phone_number     varchar(20),
+    user_status      varchar(255) NOT NULL,
+    user_type        varchar(255),
+    username         varchar(50)  NOT NULL,
+    CONSTRAINT tb_users_pkey PRIMARY KEY (user_id),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+CREATE TABLE IF NOT EXISTS tb_users_courses (
+    id           uuid NOT NULL,
+    course_id    uuid NOT NULL,
+    user_user_id uuid NOT NULL,
+    CONSTRAINT tb_users_courses_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_users_courses_user FOREIGN KEY (user_user_id) REFERENCES tb_users (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS tb_outbox_events (
+    event_id          uuid         NOT NULL,
+    aggregate_id      uuid         NOT NULL,
+    attempts          integer      NOT NULL,
+    creation_date     timestamp    NOT NULL,
+    event_type        varchar(255) NOT NULL,
+    last_error        varchar(500),
+    next_attempt_date timestamp    NOT NULL,
+    CONSTRAINT tb_outbox_events_pkey PRIMARY KEY (event_id)
+);
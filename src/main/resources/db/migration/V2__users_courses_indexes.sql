@@ -0,0 +1,13 @@
+-- subscriptions were a check-then-insert, keep a single row of any duplicate pair before enforcing uniqueness;
+-- ids are random UUIDs and the table has no timestamp, so which duplicate survives is arbitrary
+DELETE FROM tb_users_courses a
+    USING tb_users_courses b
+WHERE a.user_user_id = b.user_user_id
+  AND a.course_id = b.course_id
+  AND a.id > b.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_courses_user_course ON tb_users_courses (user_user_id, course_id);
+
+CREATE INDEX IF NOT EXISTS ix_users_courses_course ON tb_users_courses (course_id);
+
+CREATE INDEX IF NOT EXISTS ix_outbox_events_next_attempt ON tb_outbox_events (next_attempt_date);
@@ -0,0 +1,5 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS ix_users_email_trgm ON tb_users USING gin (lower(email) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS ix_users_fullname_trgm ON tb_users USING gin (lower(fullname) gin_trgm_ops);
@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS tb_user_tombstones (
+    user_id       uuid      NOT NULL,
+    deletion_date timestamp NOT NULL,
+    CONSTRAINT tb_user_tombstones_pkey PRIMARY KEY (user_id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_user_tombstones_deletion ON tb_user_tombstones (deletion_date, user_id);
+
+CREATE INDEX IF NOT EXISTS ix_users_last_update ON tb_users (last_update_date, user_id);
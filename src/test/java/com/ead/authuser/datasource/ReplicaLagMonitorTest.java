@@ -0,0 +1,61 @@
+package com.ead.authuser.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaLagMonitorTest {
+
+    private HikariDataSource replica;
+    private ReplicaRoutingDataSource routingDataSource;
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @BeforeEach
+    void setUp() {
+        replica = mock(HikariDataSource.class);
+        routingDataSource = new ReplicaRoutingDataSource(mock(DataSource.class), Map.of("replica-1", replica));
+        routingDataSource.afterPropertiesSet();
+        var properties = new ReplicaDataSourceProperties();
+        properties.setMaxLag(Duration.ofSeconds(5));
+        meterRegistry = new SimpleMeterRegistry();
+        replicaLagMonitor = new ReplicaLagMonitor(routingDataSource, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void onlyAMeasuredLagWithinTheBoundIsRoutable() {
+        assertThat(replicaLagMonitor.isRoutable(0)).isTrue();
+        assertThat(replicaLagMonitor.isRoutable(5)).isTrue();
+        assertThat(replicaLagMonitor.isRoutable(5.5)).isFalse();
+        assertThat(replicaLagMonitor.isRoutable(Double.NaN)).isFalse();
+    }
+
+    @Test
+    void aFailedLagCheckSendsReadsBackToThePrimary() throws SQLException {
+        routingDataSource.setAvailable("replica-1", true);
+        when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+
+        replicaLagMonitor.checkReplicaLag();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        assertThat(meterRegistry.get("ead.datasource.replica.lag").tag("pool", "replica-1").gauge().value()).isNaN();
+    }
+}
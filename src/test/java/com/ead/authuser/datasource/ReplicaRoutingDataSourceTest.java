@@ -0,0 +1,63 @@
+package com.ead.authuser.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", mock(HikariDataSource.class));
+        replicas.put("replica-2", mock(HikariDataSource.class));
+        routingDataSource = new ReplicaRoutingDataSource(mock(DataSource.class), replicas);
+        routingDataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void readOnlyTransactionsGoToAvailableReplicas() {
+        routingDataSource.setAvailable("replica-1", true);
+        routingDataSource.setAvailable("replica-2", true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-1");
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-2");
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo("replica-1");
+    }
+
+    @Test
+    void readWriteTransactionsGoToThePrimary() {
+        routingDataSource.setAvailable("replica-1", true);
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWithoutAvailableReplicas() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+
+        routingDataSource.setAvailable("replica-1", true);
+        routingDataSource.setAvailable("replica-1", false);
+
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+    }
+}
@@ -0,0 +1,90 @@
+package com.ead.authuser.services.impl;
+
+import com.ead.authuser.dtos.UserChangeDto;
+import com.ead.authuser.enums.ChangeType;
+import com.ead.authuser.repositories.UserChangeRepository;
+import com.ead.authuser.repositories.UserTombstoneRepository;
+import com.ead.authuser.specifications.ChangeFeedCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserChangeFeedServiceImplTest {
+
+    private static final Duration RETENTION = Duration.ofDays(30);
+
+    private UserChangeRepository userChangeRepository;
+    private UserChangeFeedServiceImpl userChangeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        userChangeRepository = mock(UserChangeRepository.class);
+        userChangeFeedService = new UserChangeFeedServiceImpl(userChangeRepository, mock(UserTombstoneRepository.class),
+                Duration.ofSeconds(5), RETENTION, 1000);
+    }
+
+    @Test
+    void pagingFromTheBeginningThroughOldRowsStaysWithinRetention() {
+        LocalDateTime longAgo = now().minusDays(90);
+        when(userChangeRepository.findChanges(any(), any(), anyInt()))
+                .thenReturn(List.of(change(longAgo), change(longAgo.plusDays(1))));
+
+        var page = userChangeFeedService.findChanges(ChangeFeedCursor.beginning(), 1);
+        var next = ChangeFeedCursor.decode(page.getNextCursor());
+
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(next.getChangeDate()).isEqualTo(longAgo);
+        assertThat(userChangeFeedService.isBeyondRetention(next)).isFalse();
+    }
+
+    @Test
+    void anEmptyPageMovesTheWatermarkForward() {
+        when(userChangeRepository.findChanges(any(), any(), anyInt())).thenReturn(List.of());
+        var idle = new ChangeFeedCursor(now().minusDays(60), UUID.randomUUID(), now().minusDays(29));
+
+        var page = userChangeFeedService.findChanges(idle, 100);
+        var next = ChangeFeedCursor.decode(page.getNextCursor());
+
+        assertThat(page.getContent()).isEmpty();
+        assertThat(next.getChangeDate()).isEqualTo(idle.getChangeDate());
+        assertThat(next.getWatermark()).isAfter(now().minusMinutes(1));
+        assertThat(userChangeFeedService.isBeyondRetention(next)).isFalse();
+    }
+
+    @Test
+    void anEmptyFeedHandsBackAUsableCursor() {
+        when(userChangeRepository.findChanges(any(), any(), anyInt())).thenReturn(List.of());
+
+        var page = userChangeFeedService.findChanges(ChangeFeedCursor.beginning(), 100);
+
+        assertThat(userChangeFeedService.isBeyondRetention(ChangeFeedCursor.decode(page.getNextCursor()))).isFalse();
+    }
+
+    @Test
+    void rejectsCursorsWhoseWatermarkIsPastRetention() {
+        var stale = new ChangeFeedCursor(now().minusDays(1), UUID.randomUUID(), now().minus(RETENTION).minusHours(1));
+
+        assertThat(userChangeFeedService.isBeyondRetention(stale)).isTrue();
+        assertThat(userChangeFeedService.isBeyondRetention(ChangeFeedCursor.since(now().minusDays(31)))).isTrue();
+        assertThat(userChangeFeedService.isBeyondRetention(ChangeFeedCursor.since(now().minusDays(29)))).isFalse();
+    }
+
+    private static UserChangeDto change(LocalDateTime changeDate) {
+        return new UserChangeDto(UUID.randomUUID(), ChangeType.UPDATED, changeDate, null);
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now(ZoneId.of("UTC"));
+    }
+}
@@ -0,0 +1,60 @@
+package com.ead.authuser.specifications;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChangeFeedCursorTest {
+
+    @Test
+    void roundTripsThroughEncode() {
+        var cursor = new ChangeFeedCursor(LocalDateTime.of(2026, 3, 1, 10, 15, 30, 123456000), UUID.randomUUID(),
+                LocalDateTime.of(2026, 3, 2, 8, 0));
+
+        var decoded = ChangeFeedCursor.decode(cursor.encode());
+
+        assertThat(decoded.getChangeDate()).isEqualTo(cursor.getChangeDate());
+        assertThat(decoded.getUserId()).isEqualTo(cursor.getUserId());
+        assertThat(decoded.getWatermark()).isEqualTo(cursor.getWatermark());
+    }
+
+    @Test
+    void decodesCursorsWithoutWatermarkFromTheirLastRow() {
+        UUID userId = UUID.randomUUID();
+        String legacy = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("2026-03-01T10:15:30|" + userId).getBytes(StandardCharsets.UTF_8));
+
+        var decoded = ChangeFeedCursor.decode(legacy);
+
+        assertThat(decoded.getUserId()).isEqualTo(userId);
+        assertThat(decoded.getWatermark()).isEqualTo(LocalDateTime.of(2026, 3, 1, 10, 15, 30));
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThatThrownBy(() -> ChangeFeedCursor.decode("not a cursor"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Malformed cursor");
+        String truncated = Base64.getUrlEncoder().encodeToString("2026-03-01T10:15:30".getBytes(StandardCharsets.UTF_8));
+        assertThatThrownBy(() -> ChangeFeedCursor.decode(truncated))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void advancingKeepsTheWatermark() {
+        var since = ChangeFeedCursor.since(LocalDateTime.of(2026, 1, 1, 0, 0));
+        UUID userId = UUID.randomUUID();
+
+        var next = since.advance(LocalDateTime.of(2026, 1, 5, 0, 0), userId);
+
+        assertThat(next.getChangeDate()).isEqualTo(LocalDateTime.of(2026, 1, 5, 0, 0));
+        assertThat(next.getUserId()).isEqualTo(userId);
+        assertThat(next.getWatermark()).isEqualTo(LocalDateTime.of(2026, 1, 1, 0, 0));
+    }
+}
@@ -0,0 +1,58 @@
+package com.ead.authuser.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void readsPlainRecordsAcrossLineEndings() throws IOException {
+        var reader = new CsvRecordReader(new StringReader("username,email\r\nana,ana@mail.com\nbia,bia@mail.com"));
+
+        assertThat(reader.readRecord()).containsExactly("username", "email");
+        assertThat(reader.readRecord()).containsExactly("ana", "ana@mail.com");
+        assertThat(reader.readRecord()).containsExactly("bia", "bia@mail.com");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void keepsCommasAndEscapedQuotesInsideQuotedFields() throws IOException {
+        var reader = new CsvRecordReader(new StringReader("\"Silva, Ana\",\"say \"\"hi\"\"\",\n"));
+
+        assertThat(reader.readRecord()).containsExactly("Silva, Ana", "say \"hi\"", "");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void keepsLineBreaksInsideQuotedFieldsInOneRecord() throws IOException {
+        var reader = new CsvRecordReader(new StringReader("ana,\"first line\r\nsecond line\"\nbia,plain\n"));
+
+        assertThat(reader.readRecord()).containsExactly("ana", "first line\r\nsecond line");
+        assertThat(reader.readRecord()).containsExactly("bia", "plain");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void returnsBlankLinesAsSingleEmptyValue() throws IOException {
+        var reader = new CsvRecordReader(new StringReader("ana\n\nbia\n"));
+
+        assertThat(reader.readRecord()).containsExactly("ana");
+        assertThat(reader.readRecord()).containsExactly("");
+        assertThat(reader.readRecord()).containsExactly("bia");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void rejectsUnterminatedQuotedField() {
+        var reader = new CsvRecordReader(new StringReader("ana,\"never closed\nbia,plain\n"));
+
+        assertThatThrownBy(reader::readRecord)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unterminated quoted field");
+    }
+}